@@ -0,0 +1,115 @@
+package com.example.timelock.api;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.example.timelock.api.dto.AuditLogDto;
+import com.example.timelock.api.dto.CursorPage;
+import com.example.timelock.audit.AuditExporter;
+import com.example.timelock.audit.AuditSearch;
+import com.example.timelock.audit.ReleaseAuditLog;
+import com.example.timelock.audit.ReleaseAuditLogRepository;
+
+@SecurityRequirement(name = "bearer")
+@RestController
+@RequestMapping("/api/v1/audit")
+public class AuditController {
+  // Audit pages are always newest first
+  private static final String CURSOR_KEY = "performedAt";
+
+  private final AuditExporter exporter;
+  private final ReleaseAuditLogRepository auditLogRepository;
+
+  public AuditController(AuditExporter exporter, ReleaseAuditLogRepository auditLogRepository) {
+    this.exporter = exporter;
+    this.auditLogRepository = auditLogRepository;
+  }
+
+  /**
+   * Global audit search, newest first, with keyset paging: pass {@code nextCursor} back as
+   * {@code after} (empty or absent for the first page).
+   */
+  @GetMapping
+  public CursorPage<AuditLogDto> search(
+      @RequestParam(required = false) Long releaseId,
+      @RequestParam(required = false) String performedBy,
+      @RequestParam(required = false) String action,
+      @RequestParam(required = false) Instant from,
+      @RequestParam(required = false) Instant to,
+      @RequestParam(defaultValue = "") String after,
+      @RequestParam(defaultValue = "50") int size) {
+    return seek(auditLogRepository, new AuditSearch(releaseId, performedBy, action, from, to), after, size);
+  }
+
+  static CursorPage<AuditLogDto> seek(ReleaseAuditLogRepository repo, AuditSearch search, String after, int size) {
+    if (size < 1 || size > 500) {
+      throw new IllegalArgumentException("size must be between 1 and 500");
+    }
+    Instant afterPerformedAt = null;
+    Long afterId = null;
+    if (!after.isEmpty()) {
+      Cursor cursor = Cursor.decode(after);
+      if (!cursor.sortBy().equals(CURSOR_KEY) || cursor.ascending()) {
+        throw new IllegalArgumentException("Cursor does not belong to an audit query");
+      }
+      try {
+        afterPerformedAt = Instant.parse(cursor.value());
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid cursor", e);
+      }
+      afterId = cursor.id();
+    }
+
+    // one extra row tells whether there is a next page without counting
+    List<ReleaseAuditLog> rows = repo.seek(search, afterPerformedAt, afterId, size + 1);
+    boolean hasNext = rows.size() > size;
+    if (hasNext) {
+      rows = rows.subList(0, size);
+    }
+    List<AuditLogDto> content = rows.stream().map(AuditLogDto::from).toList();
+    String next = null;
+    if (hasNext) {
+      ReleaseAuditLog last = rows.get(rows.size() - 1);
+      next = new Cursor(CURSOR_KEY, false, last.getPerformedAt().toString(), last.getId()).encode();
+    }
+    return new CursorPage<>(content, content.size(), next, hasNext);
+  }
+
+  /**
+   * Streams matching audit entries, oldest first, as NDJSON (one object per line) or CSV.
+   * Written on the request thread straight to the response, so an export of any size needs
+   * neither buffering nor an async timeout.
+   */
+  @GetMapping("/export")
+  public void export(
+      @RequestParam(required = false) Instant from,
+      @RequestParam(required = false) Instant to,
+      @RequestParam(required = false) String performedBy,
+      @RequestParam(required = false) String action,
+      @RequestParam(defaultValue = "ndjson") String format,
+      HttpServletResponse response) throws IOException {
+    AuditExporter.Format f = switch (format.toLowerCase()) {
+      case "ndjson" -> AuditExporter.Format.NDJSON;
+      case "csv" -> AuditExporter.Format.CSV;
+      default -> throw new IllegalArgumentException("format must be ndjson or csv");
+    };
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+    response.setContentType(f == AuditExporter.Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"audit." + format.toLowerCase() + "\"");
+    exporter.export(new AuditExporter.Filter(from, to, performedBy, action), f, response.getOutputStream());
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.timelock.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort key and direction a page was produced with, plus the
+ * sort value and id of its last row. Clients pass it back unchanged as {@code after}.
+ */
+public record Cursor(String sortBy, boolean ascending, String value, long id) {
+  private static final char SEP = '\n';
+
+  public String encode() {
+    String raw = sortBy + SEP + (ascending ? "asc" : "desc") + SEP + id + SEP + (value != null ? value : "");
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static Cursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      // value goes last so it may contain the separator itself
+      String[] parts = raw.split(String.valueOf(SEP), 4);
+      if (parts.length != 4 || !(parts[1].equals("asc") || parts[1].equals("desc"))) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new Cursor(parts[0], parts[1].equals("asc"), parts[3], Long.parseLong(parts[2]));
+    } catch (IllegalArgumentException e) { // also covers bad base64 and NumberFormatException
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
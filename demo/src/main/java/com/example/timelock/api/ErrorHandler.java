@@ -4,6 +4,7 @@ import com.example.timelock.exception.*;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
@@ -40,6 +41,12 @@ public class ErrorHandler {
     return body(HttpStatus.CONFLICT, ex.getMessage()); // 409 for business rules
   }
 
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<?> concurrentUpdate(OptimisticLockingFailureException ex) {
+    log.warn("Concurrent modification: {}", ex.getMessage());
+    return body(HttpStatus.CONFLICT, "Release was modified concurrently, please retry.");
+  }
+
   @ExceptionHandler(IllegalStateException.class)
   public ResponseEntity<?> illegalState(IllegalStateException ex) {
     log.warn("Illegal state: {}", ex.getMessage());
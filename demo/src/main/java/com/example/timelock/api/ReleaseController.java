@@ -2,8 +2,10 @@ package com.example.timelock.api;
 
 import java.security.Principal;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -22,16 +24,30 @@ import org.springframework.web.bind.annotation.RestController;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
 import com.example.timelock.api.dto.AuditLogDto;
+import com.example.timelock.api.dto.BulkDtos;
 import com.example.timelock.api.dto.CreateReleaseDto;
+import com.example.timelock.api.dto.CursorPage;
+import com.example.timelock.api.dto.DeadLetterDto;
+import com.example.timelock.api.dto.DeliveryDto;
 import com.example.timelock.api.dto.PageResponse;
 import com.example.timelock.api.dto.ReleaseResponseDto;
 import com.example.timelock.api.dto.ReleaseStatisticsDto;
+import com.example.timelock.api.dto.ReleaseSummaryDto;
+import com.example.timelock.api.dto.ReplayDto;
 import com.example.timelock.api.dto.ScheduleDto;
+import com.example.timelock.audit.AuditSearch;
 import com.example.timelock.audit.ReleaseAuditLogRepository;
+import com.example.timelock.execution.WebhookDeadLetters;
+import com.example.timelock.execution.WebhookOutbox;
 import com.example.timelock.release.Release;
+import com.example.timelock.release.ReleaseBulkService;
 import com.example.timelock.release.ReleaseRepository;
+import com.example.timelock.release.ReleaseFullText;
 import com.example.timelock.release.ReleaseService;
+import com.example.timelock.release.ReleaseSpecifications;
+import com.example.timelock.release.ReleaseStatistics;
 import com.example.timelock.release.ReleaseStatus;
+import com.example.timelock.release.ReleaseSummary;
 
 import jakarta.validation.Valid;
 
@@ -42,16 +58,29 @@ public class ReleaseController {
   private final ReleaseRepository repo;
   private final ReleaseService svc;
   private final ReleaseAuditLogRepository auditLogRepository;
+  private final WebhookOutbox webhookOutbox;
+  private final WebhookDeadLetters deadLetters;
+  private final ReleaseStatistics statistics;
+  private final ReleaseBulkService bulk;
+  private final ReleaseDtoCache cache;
 
   public ReleaseController(ReleaseRepository repo, ReleaseService svc,
-                           ReleaseAuditLogRepository auditLogRepository) {
+                           ReleaseAuditLogRepository auditLogRepository,
+                           WebhookOutbox webhookOutbox, WebhookDeadLetters deadLetters,
+                           ReleaseStatistics statistics, ReleaseBulkService bulk,
+                           ReleaseDtoCache cache) {
     this.repo = repo; 
     this.svc = svc;
     this.auditLogRepository = auditLogRepository;
+    this.webhookOutbox = webhookOutbox;
+    this.deadLetters = deadLetters;
+    this.statistics = statistics;
+    this.bulk = bulk;
+    this.cache = cache;
   }
 
   @GetMapping
-  public PageResponse<ReleaseResponseDto> list(
+  public PageResponse<ReleaseSummaryDto> list(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size,
       @RequestParam(required = false) String sortBy,
@@ -59,30 +88,40 @@ public class ReleaseController {
       @RequestParam(required = false) ReleaseStatus status,
       @RequestParam(required = false) String search) {
     
-    Sort sort = Sort.by(sortBy != null ? sortBy : "createdAt");
-    if (sortDir != null && sortDir.equalsIgnoreCase("asc")) {
-      sort = sort.ascending();
+    boolean searching = search != null && !search.trim().isEmpty();
+    String fullText = searching ? ReleaseFullText.booleanQuery(search) : null;
+    Page<ReleaseSummary> releasePage;
+
+    if (fullText != null && (sortBy == null || sortBy.equals("relevance"))) {
+      // search without an explicit sort: most relevant first
+      releasePage = repo.searchByRelevance(status, fullText, PageRequest.of(page, size));
     } else {
-      sort = sort.descending();
-    }
-    
-    Pageable pageable = PageRequest.of(page, size, sort);
-    Page<Release> releasePage;
-    
-    if (search != null && !search.trim().isEmpty()) {
-      if (status != null) {
-        releasePage = repo.findByStatusAndSearch(status, search.trim(), pageable);
+      Sort sort = Sort.by(sortBy != null ? sortBy : "createdAt");
+      if (sortDir != null && sortDir.equalsIgnoreCase("asc")) {
+        sort = sort.ascending();
       } else {
-        releasePage = repo.findBySearch(search.trim(), pageable);
+        sort = sort.descending();
+      }
+
+      Pageable pageable = PageRequest.of(page, size, sort);
+
+      if (fullText != null) {
+        if (status != null) {
+          releasePage = repo.findByStatusAndSearch(status, fullText, pageable);
+        } else {
+          releasePage = repo.findBySearch(fullText, pageable);
+        }
+      } else if (searching) {
+        releasePage = repo.findByTitlePrefix(status, ReleaseSpecifications.titlePrefix(search), pageable);
+      } else if (status != null) {
+        releasePage = repo.findSummariesByStatus(status, pageable);
+      } else {
+        releasePage = repo.findSummaries(pageable);
       }
-    } else if (status != null) {
-      releasePage = repo.findByStatus(status, pageable);
-    } else {
-      releasePage = repo.findAll(pageable);
     }
     
-    List<ReleaseResponseDto> content = releasePage.getContent().stream()
-        .map(ReleaseResponseDto::from)
+    List<ReleaseSummaryDto> content = releasePage.getContent().stream()
+        .map(ReleaseSummaryDto::from)
         .collect(Collectors.toList());
     
     return PageResponse.of(
@@ -93,30 +132,92 @@ public class ReleaseController {
     );
   }
 
+  // Sort keys usable with keyset paging: each is non-null and backed by a (key, id) index
+  private static final Map<String, Function<String, Comparable<?>>> CURSOR_KEYS = Map.of(
+      "createdAt", Instant::parse,
+      "title", v -> v,
+      "id", Long::valueOf);
+
+  /**
+   * Keyset variant of {@link #list}, selected by the presence of {@code after} (empty for
+   * the first page). Seeks past the cursor instead of skipping rows and runs no count
+   * query, so every page costs the same.
+   */
+  @GetMapping(params = "after")
+  public CursorPage<ReleaseSummaryDto> listAfter(
+      @RequestParam String after,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) String sortBy,
+      @RequestParam(required = false) String sortDir,
+      @RequestParam(required = false) ReleaseStatus status,
+      @RequestParam(required = false) String search) {
+    if (size < 1 || size > 100) {
+      throw new IllegalArgumentException("size must be between 1 and 100");
+    }
+    String key = sortBy != null ? sortBy : "createdAt";
+    if (!CURSOR_KEYS.containsKey(key)) {
+      throw new IllegalArgumentException("Cursor paging supports sortBy " + CURSOR_KEYS.keySet());
+    }
+    boolean ascending = sortDir != null && sortDir.equalsIgnoreCase("asc");
+
+    Comparable<?> afterValue = null;
+    Long afterId = null;
+    if (!after.isEmpty()) {
+      Cursor cursor = Cursor.decode(after);
+      if (!cursor.sortBy().equals(key) || cursor.ascending() != ascending) {
+        throw new IllegalArgumentException("Cursor does not match sortBy/sortDir");
+      }
+      afterValue = key.equals("id") ? null : CURSOR_KEYS.get(key).apply(cursor.value());
+      afterId = cursor.id();
+    }
+
+    // one extra row tells whether there is a next page without counting
+    List<ReleaseSummary> rows = repo.scrollSummaries(
+        ReleaseSpecifications.hasStatus(status).and(ReleaseSpecifications.matches(search)),
+        key, ascending, afterValue, afterId, size + 1);
+    boolean hasNext = rows.size() > size;
+    if (hasNext) {
+      rows = rows.subList(0, size);
+    }
+
+    List<ReleaseSummaryDto> content = rows.stream()
+        .map(ReleaseSummaryDto::from)
+        .collect(Collectors.toList());
+    String next = null;
+    if (hasNext) {
+      ReleaseSummary last = rows.get(rows.size() - 1);
+      next = new Cursor(key, ascending, cursorValue(last, key), last.id()).encode();
+    }
+    return new CursorPage<>(content, content.size(), next, hasNext);
+  }
+
+  private static String cursorValue(ReleaseSummary release, String key) {
+    return switch (key) {
+      case "createdAt" -> release.createdAt().toString();
+      case "title" -> release.title();
+      default -> null;
+    };
+  }
+
   @GetMapping("/{id}")
   public ReleaseResponseDto getById(@PathVariable Long id) {
-    Release release = svc.findById(id);
-    return ReleaseResponseDto.from(release);
+    return cache.get(id, () -> ReleaseResponseDto.from(svc.findLatest(id)));
   }
 
   @GetMapping("/statistics")
   public ReleaseStatisticsDto getStatistics() {
-    long total = repo.count();
-    Map<String, Long> byStatus = Map.of(
-        "DRAFT", repo.countByStatus(ReleaseStatus.DRAFT),
-        "SCHEDULED", repo.countByStatus(ReleaseStatus.SCHEDULED),
-        "APPROVED", repo.countByStatus(ReleaseStatus.APPROVED),
-        "EXECUTED", repo.countByStatus(ReleaseStatus.EXECUTED),
-        "CANCELLED", repo.countByStatus(ReleaseStatus.CANCELLED)
-    );
+    Map<ReleaseStatus, Long> counts = statistics.byStatus();
+    Map<String, Long> byStatus = new LinkedHashMap<>();
+    counts.forEach((status, count) -> byStatus.put(status.name(), count));
+    long total = counts.values().stream().mapToLong(Long::longValue).sum();
     
     return new ReleaseStatisticsDto(
         total,
         byStatus,
-        repo.countByStatus(ReleaseStatus.SCHEDULED),
-        repo.countByStatus(ReleaseStatus.APPROVED),
-        repo.countByStatus(ReleaseStatus.EXECUTED),
-        repo.countByStatus(ReleaseStatus.CANCELLED)
+        counts.get(ReleaseStatus.SCHEDULED),
+        counts.get(ReleaseStatus.APPROVED),
+        counts.get(ReleaseStatus.EXECUTED),
+        counts.get(ReleaseStatus.CANCELLED)
     );
   }
 
@@ -127,11 +228,39 @@ public class ReleaseController {
         dto.title(),
         dto.description(),
         dto.payloadJson(),
+        dto.targets(),
         createdBy
     );
     return ReleaseResponseDto.from(release);
   }
 
+  @PostMapping("/bulk")
+  public List<ReleaseBulkService.Result> createAll(@Valid @RequestBody BulkDtos.CreateAll dto, Principal principal) {
+    String createdBy = principal != null ? principal.getName() : "unknown";
+    return bulk.create(dto.releases().stream()
+        .map(r -> new ReleaseBulkService.NewRelease(r.title(), r.description(), r.payloadJson(), r.targets()))
+        .toList(), createdBy);
+  }
+
+  @PostMapping("/bulk/actions/schedule")
+  public List<ReleaseBulkService.Result> scheduleAll(@Valid @RequestBody BulkDtos.ScheduleAll dto) {
+    return bulk.schedule(dto.items().stream()
+        .map(i -> new ReleaseBulkService.ScheduleItem(i.id(), i.scheduledAt().toInstant()))
+        .toList());
+  }
+
+  @PostMapping("/bulk/actions/approve")
+  public List<ReleaseBulkService.Result> approveAll(@Valid @RequestBody BulkDtos.Ids dto, Authentication auth) {
+    String approver = auth != null ? String.valueOf(auth.getPrincipal()) : "unknown";
+    return bulk.approve(dto.ids(), approver);
+  }
+
+  @PostMapping("/bulk/actions/cancel")
+  public List<ReleaseBulkService.Result> cancelAll(@Valid @RequestBody BulkDtos.Ids dto, Authentication auth) {
+    String cancelledBy = auth != null ? String.valueOf(auth.getPrincipal()) : "unknown";
+    return bulk.cancel(dto.ids(), cancelledBy);
+  }
+
   @PostMapping("/{id}/actions/schedule")
   public ReleaseResponseDto schedule(@PathVariable Long id,
                           @Valid @RequestBody ScheduleDto body) {
@@ -183,4 +312,45 @@ public class ReleaseController {
         auditPage.getTotalElements()
     );
   }
-}
\ No newline at end of file
+
+  /** Keyset variant of {@link #getHistory}, selected by {@code after} (empty for the first page). */
+  @GetMapping(value = "/{id}/history", params = "after")
+  public CursorPage<AuditLogDto> getHistoryAfter(
+      @PathVariable Long id,
+      @RequestParam String after,
+      @RequestParam(defaultValue = "20") int size) {
+    return AuditController.seek(auditLogRepository, new AuditSearch(id, null, null, null, null), after, size);
+  }
+
+  @GetMapping("/{id}/deliveries")
+  public List<DeliveryDto> getDeliveries(@PathVariable Long id) {
+    svc.findById(id); // 404 for unknown releases
+    return webhookOutbox.deliveriesOf(id).stream()
+        .map(DeliveryDto::from)
+        .collect(Collectors.toList());
+  }
+
+  @GetMapping("/dead-letters")
+  public PageResponse<DeadLetterDto> getDeadLetters(
+      @RequestParam(required = false) String target,
+      @RequestParam(required = false) String errorClass,
+      @RequestParam(required = false) Instant from,
+      @RequestParam(required = false) Instant to,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size) {
+    Pageable pageable = PageRequest.of(page, size, Sort.by("failedAt").descending());
+    var letters = deadLetters.search(target, errorClass, from, to, pageable);
+
+    List<DeadLetterDto> content = letters.getContent().stream()
+        .map(DeadLetterDto::from)
+        .collect(Collectors.toList());
+
+    return PageResponse.of(content, letters.getNumber(), letters.getSize(), letters.getTotalElements());
+  }
+
+  @PostMapping("/dead-letters/replay")
+  public WebhookDeadLetters.Replay replayDeadLetters(@Valid @RequestBody ReplayDto dto) {
+    return deadLetters.replay(dto.target(), dto.errorClass(), dto.from(), dto.to(),
+        dto.ratePerSecond(), dto.limit());
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.timelock.api;
+
+import com.example.timelock.api.dto.ReleaseResponseDto;
+import com.example.timelock.release.ReleaseInvalidations;
+import com.example.timelock.release.ReleasesChanged;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-node cache of {@code GET /api/v1/releases/{id}} responses. Entries are evicted
+ * after the changing transaction commits (never before, or a concurrent reader could put the
+ * old row back), on changes from other nodes via the invalidation log, and after
+ * {@code ttl-ms} at the latest. Misses must be loaded from the primary
+ * ({@code ReleaseService#findLatest}): a lagging replica could hand back the row as it was
+ * before an eviction, and nothing would evict it again before the TTL. Nothing is cached until
+ * {@link ReleaseInvalidations} follows other nodes' changes. Hit/miss/eviction
+ * counts are exported as {@code cache.*{cache="releases"}}.
+ */
+@Component
+public class ReleaseDtoCache {
+  private final Cache<Long, ReleaseResponseDto> cache;
+  private final ReleaseInvalidations invalidations;
+
+  public ReleaseDtoCache(MeterRegistry meterRegistry,
+                         ReleaseInvalidations invalidations,
+                         @Value("${app.release.cache.max-size:10000}") long maxSize,
+                         @Value("${app.release.cache.ttl-ms:30000}") long ttlMs) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofMillis(ttlMs))
+        .recordStats()
+        .build();
+    this.invalidations = invalidations;
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "releases");
+  }
+
+  /** Cached response for {@code id}; a loader that throws (e.g. not found) caches nothing. */
+  public ReleaseResponseDto get(Long id, Supplier<ReleaseResponseDto> loader) {
+    if (!invalidations.isWatching()) {
+      // Startup: nothing would evict an entry changed on another node before the TTL
+      return loader.get();
+    }
+    // An invalidation racing with the load waits for it and then removes its result
+    return cache.get(id, key -> loader.get());
+  }
+
+  // fallbackExecution: events from the invalidation log poller arrive outside a transaction
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onChanged(ReleasesChanged event) {
+    cache.invalidateAll(event.ids());
+  }
+}
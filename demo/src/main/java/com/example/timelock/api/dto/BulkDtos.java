@@ -0,0 +1,39 @@
+package com.example.timelock.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Request bodies of the bulk endpoints; each accepts up to 10,000 items. */
+public final class BulkDtos {
+    private BulkDtos() {}
+
+    public record CreateAll(
+        @NotEmpty(message = "releases must not be empty")
+        @Size(max = 10000, message = "At most 10000 releases per request")
+        List<@Valid @NotNull CreateReleaseDto> releases
+    ) {}
+
+    public record ScheduleItem(
+        @NotNull(message = "id is required")
+        Long id,
+
+        @NotNull(message = "scheduledAt is required")
+        OffsetDateTime scheduledAt
+    ) {}
+
+    public record ScheduleAll(
+        @NotEmpty(message = "items must not be empty")
+        @Size(max = 10000, message = "At most 10000 items per request")
+        List<@Valid @NotNull ScheduleItem> items
+    ) {}
+
+    public record Ids(
+        @NotEmpty(message = "ids must not be empty")
+        @Size(max = 10000, message = "At most 10000 ids per request")
+        List<@NotNull Long> ids
+    ) {}
+}
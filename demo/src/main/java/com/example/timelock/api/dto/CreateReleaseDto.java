@@ -2,6 +2,7 @@ package com.example.timelock.api.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.util.List;
 
 public record CreateReleaseDto(
     @NotBlank(message = "Title is required")
@@ -12,5 +13,8 @@ public record CreateReleaseDto(
     String description,
     
     @Size(max = 10000, message = "Payload JSON must not exceed 10000 characters")
-    String payloadJson
+    String payloadJson,
+
+    @Size(max = 20, message = "At most 20 webhook targets are allowed")
+    List<@NotBlank @Size(max = 1024, message = "Target URL must not exceed 1024 characters") String> targets
 ) {}
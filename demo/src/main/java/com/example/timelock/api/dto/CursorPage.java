@@ -0,0 +1,11 @@
+package com.example.timelock.api.dto;
+
+import java.util.List;
+
+/** A keyset page; pass {@code nextCursor} as {@code after} to fetch the following page. */
+public record CursorPage<T>(
+    List<T> content,
+    int size,
+    String nextCursor,
+    boolean hasNext
+) {}
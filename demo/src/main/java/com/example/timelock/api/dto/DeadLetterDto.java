@@ -0,0 +1,28 @@
+package com.example.timelock.api.dto;
+
+import com.example.timelock.execution.WebhookDeadLetter;
+import java.time.Instant;
+
+public record DeadLetterDto(
+    Long id,
+    Long releaseId,
+    String target,
+    String errorClass,
+    Integer lastStatusCode,
+    String lastError,
+    int attempts,
+    Instant failedAt
+) {
+    public static DeadLetterDto from(WebhookDeadLetter letter) {
+        return new DeadLetterDto(
+            letter.getId(),
+            letter.getReleaseId(),
+            letter.getTargetUrl(),
+            letter.getErrorClass(),
+            letter.getLastStatusCode(),
+            letter.getLastError(),
+            letter.getAttempts(),
+            letter.getFailedAt()
+        );
+    }
+}
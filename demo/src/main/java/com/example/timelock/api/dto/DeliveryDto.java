@@ -0,0 +1,27 @@
+package com.example.timelock.api.dto;
+
+import com.example.timelock.execution.DeliveryStatus;
+import com.example.timelock.execution.WebhookOutboxEntry;
+import java.time.Instant;
+
+public record DeliveryDto(
+    String target,
+    DeliveryStatus status,
+    int attempts,
+    Integer lastStatusCode,
+    String lastError,
+    Instant createdAt,
+    Instant deliveredAt
+) {
+    public static DeliveryDto from(WebhookOutboxEntry entry) {
+        return new DeliveryDto(
+            entry.getTargetUrl(),
+            entry.getStatus(),
+            entry.getAttempts(),
+            entry.getLastStatusCode(),
+            entry.getLastError(),
+            entry.getCreatedAt(),
+            entry.getDeliveredAt()
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.example.timelock.api.dto;
 import com.example.timelock.release.Release;
 import com.example.timelock.release.ReleaseStatus;
 import java.time.Instant;
+import java.util.List;
 
 public record ReleaseResponseDto(
     Long id,
@@ -15,7 +16,8 @@ public record ReleaseResponseDto(
     Instant createdAt,
     String approvedBy,
     Instant approvedAt,
-    Instant executedAt
+    Instant executedAt,
+    List<String> targets
 ) {
     public static ReleaseResponseDto from(Release release) {
         return new ReleaseResponseDto(
@@ -29,7 +31,8 @@ public record ReleaseResponseDto(
             release.getCreatedAt(),
             release.getApprovedBy(),
             release.getApprovedAt(),
-            release.getExecutedAt()
+            release.getExecutedAt(),
+            List.copyOf(release.getTargets())
         );
     }
 }
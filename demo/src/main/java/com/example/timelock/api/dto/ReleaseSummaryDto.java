@@ -0,0 +1,34 @@
+package com.example.timelock.api.dto;
+
+import com.example.timelock.release.ReleaseStatus;
+import com.example.timelock.release.ReleaseSummary;
+import java.time.Instant;
+
+/** List row; {@code description} is truncated, and payload and targets are only on GET /{id}. */
+public record ReleaseSummaryDto(
+    Long id,
+    String title,
+    String description,
+    ReleaseStatus status,
+    Instant scheduledAt,
+    String createdBy,
+    Instant createdAt,
+    String approvedBy,
+    Instant approvedAt,
+    Instant executedAt
+) {
+    public static ReleaseSummaryDto from(ReleaseSummary release) {
+        return new ReleaseSummaryDto(
+            release.id(),
+            release.title(),
+            release.description(),
+            release.status(),
+            release.scheduledAt(),
+            release.createdBy(),
+            release.createdAt(),
+            release.approvedBy(),
+            release.approvedAt(),
+            release.executedAt()
+        );
+    }
+}
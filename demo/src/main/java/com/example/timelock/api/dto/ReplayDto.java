@@ -0,0 +1,18 @@
+package com.example.timelock.api.dto;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Instant;
+
+/** Selects dead letters to replay; unset fields match everything. */
+public record ReplayDto(
+    String target,
+    String errorClass,
+    Instant from,
+    Instant to,
+
+    @Positive(message = "ratePerSecond must be positive")
+    Integer ratePerSecond,
+
+    @Positive(message = "limit must be positive")
+    Integer limit
+) {}
@@ -0,0 +1,163 @@
+package com.example.timelock.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Takes audit entries off the request path: callers {@link #offer} into an
+ * {@link AuditRingBuffer} and one background thread writes them in batches of up to
+ * {@code batchSize}, waiting {@code flushMs} whenever the ring runs dry. A batch that fails
+ * is written again in halves, so one bad row only costs itself. Exports
+ * {@code audit.buffer.size}, {@code audit.buffer.overflow}, {@code audit.batch.size},
+ * {@code audit.flush} and {@code audit.write.failures}. Once {@link #stop} has drained the
+ * ring, {@link #offer} refuses entries so the caller writes them itself.
+ */
+class AsyncAuditWriter {
+  private static final Logger log = LoggerFactory.getLogger(AsyncAuditWriter.class);
+
+  private final AuditRingBuffer<ReleaseAuditLog> ring;
+  private final int batchSize;
+  private final long flushNanos;
+  private final Consumer<List<ReleaseAuditLog>> sink;
+  private final Counter overflow;
+  private final Counter failures;
+  private final DistributionSummary batches;
+  private final Timer flushes;
+  private volatile boolean running;
+  private volatile boolean stopped;
+  private Thread worker;
+
+  AsyncAuditWriter(int capacity, int batchSize, long flushMs, Consumer<List<ReleaseAuditLog>> sink,
+                   MeterRegistry meterRegistry) {
+    this.ring = new AuditRingBuffer<>(capacity);
+    this.batchSize = batchSize;
+    this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMs);
+    this.sink = sink;
+    Gauge.builder("audit.buffer.size", ring, AuditRingBuffer::size)
+        .description("Audit entries waiting to be written")
+        .register(meterRegistry);
+    Gauge.builder("audit.buffer.capacity", ring, AuditRingBuffer::capacity)
+        .register(meterRegistry);
+    this.overflow = Counter.builder("audit.buffer.overflow")
+        .description("Audit entries written synchronously because the buffer was full")
+        .register(meterRegistry);
+    this.failures = Counter.builder("audit.write.failures")
+        .description("Audit entries lost because they could not be written")
+        .register(meterRegistry);
+    this.batches = DistributionSummary.builder("audit.batch.size").register(meterRegistry);
+    this.flushes = Timer.builder("audit.flush").register(meterRegistry);
+  }
+
+  void start() {
+    running = true;
+    worker = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+  }
+
+  /** False when the ring is full or the writer has stopped; the entry has not been taken. */
+  boolean offer(ReleaseAuditLog entry) {
+    if (stopped) {
+      return false;
+    }
+    if (ring.offer(entry)) {
+      if (stopped) {
+        // Raced with stop(): its last drain may have missed this entry
+        drainStopped();
+      }
+      return true;
+    }
+    overflow.increment();
+    return false;
+  }
+
+  void stop() {
+    running = false;
+    Thread t = worker;
+    if (t != null) {
+      LockSupport.unpark(t);
+      try {
+        t.join(TimeUnit.SECONDS.toMillis(10));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    drainStopped();
+  }
+
+  // Writes what is left on the calling thread. The ring has a single consumer, so this only
+  // runs once the worker is gone, and one caller at a time.
+  private synchronized void drainStopped() {
+    stopped = true;
+    Thread t = worker;
+    if (t != null && t.isAlive()) {
+      log.warn("Audit writer did not stop in time, {} entries still buffered", ring.size());
+      return;
+    }
+    List<ReleaseAuditLog> batch = new ArrayList<>(batchSize);
+    // size() counts claimed slots, so this also waits for an offer that is still publishing
+    while (ring.size() > 0) {
+      if (flush(batch) == 0) Thread.onSpinWait();
+    }
+  }
+
+  private void run() {
+    List<ReleaseAuditLog> batch = new ArrayList<>(batchSize);
+    while (running) {
+      if (flush(batch) == 0) {
+        LockSupport.parkNanos(flushNanos);
+      }
+    }
+    // Shutting down: write what is left
+    while (flush(batch) > 0) {
+      // keep draining
+    }
+  }
+
+  private int flush(List<ReleaseAuditLog> batch) {
+    int n = ring.drain(batchSize, batch::add);
+    if (n == 0) return 0;
+    long start = System.nanoTime();
+    try {
+      write(batch);
+    } finally {
+      batch.clear();
+    }
+    flushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    batches.record(n);
+    return n;
+  }
+
+  /** Writes {@code entries}, bisecting on failure until only the rows that fail alone are dropped. */
+  void write(List<ReleaseAuditLog> entries) {
+    try {
+      sink.accept(entries);
+    } catch (CannotCreateTransactionException e) {
+      // No connection: smaller batches cannot help, and bisecting would hammer the pool
+      failures.increment(entries.size());
+      log.error("Failed to write {} audit log entries: {}", entries.size(), e.getMessage(), e);
+    } catch (RuntimeException e) {
+      if (entries.size() == 1) {
+        ReleaseAuditLog entry = entries.get(0);
+        failures.increment();
+        log.error("Failed to write audit log entry {} of release {}: {}",
+            entry.getAction(), entry.getReleaseId(), e.getMessage(), e);
+        return;
+      }
+      log.warn("Failed to write {} audit log entries, retrying in halves: {}", entries.size(), e.getMessage());
+      int half = entries.size() / 2;
+      write(entries.subList(0, half));
+      write(entries.subList(half, entries.size()));
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package com.example.timelock.audit;
+
+import com.example.timelock.payload.PayloadCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams audit entries straight from a forward-only MySQL cursor to an output stream, one
+ * row at a time, so memory use does not depend on how many rows match. Output is flushed
+ * every {@value #FLUSH_EVERY} rows. Runs in a read-only transaction, so it reads from a
+ * replica when one is configured.
+ */
+@Service
+public class AuditExporter {
+  private static final Logger log = LoggerFactory.getLogger(AuditExporter.class);
+  private static final int FLUSH_EVERY = 1000;
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate readOnlyTx;
+
+  public AuditExporter(JdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+    this.jdbc = jdbc;
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+  }
+
+  public enum Format { NDJSON, CSV }
+
+  /** Filters of an export; null means unrestricted. */
+  public record Filter(Instant from, Instant to, String performedBy, String action) {}
+
+  /** Writes every entry matching {@code filter}, oldest first; returns the row count. */
+  public long export(Filter filter, Format format, OutputStream out) {
+    List<Object> args = new ArrayList<>();
+    String sql = "SELECT l.id, l.release_id, l.action, l.performed_by, l.performed_at, l.details, " +
+        "p.codec, p.size, p.data FROM release_audit_log l LEFT JOIN payloads p ON p.hash = l.details_hash " +
+        "WHERE 1 = 1" + where(filter, args) + " ORDER BY l.performed_at, l.id";
+    RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+    long[] rows = new long[1];
+    readOnlyTx.executeWithoutResult(status -> jdbc.query(con -> {
+      PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      // Connector/J streams row by row only with this exact fetch size
+      ps.setFetchSize(Integer.MIN_VALUE);
+      for (int i = 0; i < args.size(); i++) {
+        ps.setObject(i + 1, args.get(i));
+      }
+      return ps;
+    }, (RowCallbackHandler) rs -> {
+      writer.write(rs);
+      if (++rows[0] % FLUSH_EVERY == 0) {
+        writer.flush();
+      }
+    }));
+    writer.flush();
+    log.info("Exported {} audit log entries ({})", rows[0], format);
+    return rows[0];
+  }
+
+  private static String where(Filter filter, List<Object> args) {
+    StringBuilder where = new StringBuilder();
+    if (filter.from() != null) {
+      where.append(" AND l.performed_at >= ?");
+      args.add(Timestamp.from(filter.from()));
+    }
+    if (filter.to() != null) {
+      where.append(" AND l.performed_at < ?");
+      args.add(Timestamp.from(filter.to()));
+    }
+    if (filter.performedBy() != null) {
+      where.append(" AND l.performed_by = ?");
+      args.add(filter.performedBy());
+    }
+    if (filter.action() != null) {
+      where.append(" AND l.action = ?");
+      args.add(filter.action());
+    }
+    return where.toString();
+  }
+
+  private static String details(ResultSet rs) throws SQLException {
+    String codec = rs.getString("codec");
+    if (codec == null) {
+      return rs.getString("details");
+    }
+    return PayloadCodec.valueOf(codec).text(rs.getBytes("data"), rs.getInt("size"));
+  }
+
+  private interface RowWriter {
+    void write(ResultSet rs) throws SQLException;
+    void flush();
+  }
+
+  private static final class NdjsonWriter implements RowWriter {
+    private final JsonGenerator json;
+
+    NdjsonWriter(OutputStream out) {
+      try {
+        this.json = JSON.createGenerator(out).setRootValueSeparator(null);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void write(ResultSet rs) throws SQLException {
+      try {
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong("id"));
+        json.writeNumberField("releaseId", rs.getLong("release_id"));
+        json.writeStringField("action", rs.getString("action"));
+        json.writeStringField("performedBy", rs.getString("performed_by"));
+        json.writeStringField("performedAt", rs.getTimestamp("performed_at").toInstant().toString());
+        json.writeStringField("details", details(rs));
+        json.writeEndObject();
+        json.writeRaw('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void flush() {
+      try {
+        json.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private static final class CsvWriter implements RowWriter {
+    private final Writer out;
+
+    CsvWriter(OutputStream out) {
+      this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      line("id", "releaseId", "action", "performedBy", "performedAt", "details");
+    }
+
+    @Override
+    public void write(ResultSet rs) throws SQLException {
+      line(String.valueOf(rs.getLong("id")), String.valueOf(rs.getLong("release_id")),
+          rs.getString("action"), rs.getString("performed_by"),
+          rs.getTimestamp("performed_at").toInstant().toString(), details(rs));
+    }
+
+    private void line(String... fields) {
+      try {
+        for (int i = 0; i < fields.length; i++) {
+          if (i > 0) out.write(',');
+          out.write(escape(fields[i]));
+        }
+        out.write("\r\n");
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void flush() {
+      try {
+        out.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  // RFC 4180: quote fields containing separators, quotes or line breaks
+  static String escape(String field) {
+    if (field == null) return "";
+    if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+      return field;
+    }
+    return '"' + field.replace("\"", "\"\"") + '"';
+  }
+}
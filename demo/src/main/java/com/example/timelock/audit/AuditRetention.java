@@ -0,0 +1,113 @@
+package com.example.timelock.audit;
+
+import com.example.timelock.partition.MonthlyPartitions;
+import com.example.timelock.partition.MonthlyPartitions.Partition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Partition maintenance for {@code release_audit_log}: keeps {@code months-ahead} monthly
+ * partitions ready, and retires whole months older than {@code retention-months}. A
+ * retired month is first rolled up into {@code release_audit_daily}, optionally exported
+ * as gzipped NDJSON to {@code export-dir}, and then dropped, which takes milliseconds
+ * however many rows it held. Every step can be repeated safely: the roll-up overwrites its
+ * days and a month whose export fails is kept for the next run. Only one node runs it at a
+ * time (see {@link MonthlyPartitions#exclusively}), so each month is exported once.
+ */
+@Component
+public class AuditRetention {
+  private static final Logger log = LoggerFactory.getLogger(AuditRetention.class);
+
+  private final JdbcTemplate jdbc;
+  private final AuditExporter exporter;
+  private final MonthlyPartitions partitions;
+  private final int retentionMonths;
+  private final int monthsAhead;
+  private final String exportDir;
+
+  @Autowired
+  public AuditRetention(JdbcTemplate jdbc,
+                        AuditExporter exporter,
+                        @Value("${app.release.audit.retention.months:24}") int retentionMonths,
+                        @Value("${app.release.audit.retention.months-ahead:3}") int monthsAhead,
+                        @Value("${app.release.audit.retention.export-dir:}") String exportDir) {
+    this(jdbc, exporter, new MonthlyPartitions(jdbc, "release_audit_log"), retentionMonths, monthsAhead, exportDir);
+  }
+
+  AuditRetention(JdbcTemplate jdbc, AuditExporter exporter, MonthlyPartitions partitions,
+                 int retentionMonths, int monthsAhead, String exportDir) {
+    this.jdbc = jdbc;
+    this.exporter = exporter;
+    this.partitions = partitions;
+    this.retentionMonths = retentionMonths;
+    this.monthsAhead = monthsAhead;
+    this.exportDir = exportDir;
+  }
+
+  @Scheduled(initialDelayString = "${app.release.audit.retention.initial-delay-ms:60000}",
+             fixedDelayString = "${app.release.audit.retention.interval-ms:86400000}")
+  public void maintain() {
+    partitions.exclusively(() -> maintainAsOf(YearMonth.now(ZoneOffset.UTC)));
+  }
+
+  void maintainAsOf(YearMonth current) {
+    partitions.ensureThrough(current.plusMonths(monthsAhead));
+    if (retentionMonths <= 0) return;
+
+    for (Partition partition : partitions.endingBy(keepFrom(current, retentionMonths))) {
+      rollUp(partition);
+      if (!exportDir.isBlank() && !export(partition)) {
+        continue;
+      }
+      partitions.drop(partition.name());
+    }
+  }
+
+  /** Oldest instant kept: the current month and the {@code retentionMonths} before it stay. */
+  static Instant keepFrom(YearMonth current, int retentionMonths) {
+    return current.minusMonths(retentionMonths).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+  }
+
+  private void rollUp(Partition partition) {
+    int days = jdbc.update(
+        "INSERT INTO release_audit_daily (day, action, entries, actors, releases) " +
+        "SELECT * FROM (SELECT DATE(CONVERT_TZ(performed_at, @@session.time_zone, '+00:00')) AS day, action, " +
+        "COUNT(*) AS entries, COUNT(DISTINCT performed_by) AS actors, COUNT(DISTINCT release_id) AS releases " +
+        "FROM release_audit_log PARTITION (" + partition.name() + ") GROUP BY day, action) AS t " +
+        "ON DUPLICATE KEY UPDATE entries = t.entries, actors = t.actors, releases = t.releases");
+    log.info("Rolled up audit partition {} into {} daily rows", partition.name(), days);
+  }
+
+  private boolean export(Partition partition) {
+    Path file = Path.of(exportDir, "release_audit_log-" + partition.name() + ".ndjson.gz");
+    Path partial = Path.of(file + ".partial");
+    try {
+      Files.createDirectories(file.getParent());
+      try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial))) {
+        long rows = exporter.export(new AuditExporter.Filter(partition.from(), partition.to(), null, null),
+            AuditExporter.Format.NDJSON, out);
+        log.info("Exported {} audit entries of {} to {}", rows, partition.name(), file);
+      }
+      Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    } catch (IOException | RuntimeException e) {
+      log.error("Keeping audit partition {}: export to {} failed: {}", partition.name(), file, e.getMessage(), e);
+      return false;
+    }
+  }
+}
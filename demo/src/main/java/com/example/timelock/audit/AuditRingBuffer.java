@@ -0,0 +1,65 @@
+package com.example.timelock.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring. Producers claim a slot by CAS on
+ * {@code tail} and publish the element into it; the one consumer takes published elements
+ * in claim order and frees their slots. {@link #offer} never blocks: it returns false
+ * when the ring is full, and the caller decides what backpressure means.
+ */
+final class AuditRingBuffer<E> {
+  private final AtomicReferenceArray<E> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  AuditRingBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  boolean offer(E element) {
+    while (true) {
+      long t = tail.get();
+      if (t - head.get() >= slots.length()) {
+        return false;
+      }
+      if (tail.compareAndSet(t, t + 1)) {
+        // Claimed but not yet visible to the consumer until this store lands
+        slots.lazySet((int) (t & mask), element);
+        return true;
+      }
+    }
+  }
+
+  /** Consumer only: hands up to {@code max} elements to {@code sink}, returns how many. */
+  int drain(int max, Consumer<E> sink) {
+    long h = head.get();
+    int n = 0;
+    while (n < max) {
+      int index = (int) (h & mask);
+      E element = slots.get(index);
+      if (element == null) {
+        break; // empty, or the next producer has claimed but not published yet
+      }
+      slots.lazySet(index, null);
+      h++;
+      head.lazySet(h);
+      sink.accept(element);
+      n++;
+    }
+    return n;
+  }
+
+  int size() {
+    return (int) Math.max(0, tail.get() - head.get());
+  }
+
+  int capacity() {
+    return slots.length();
+  }
+}
@@ -0,0 +1,6 @@
+package com.example.timelock.audit;
+
+import java.time.Instant;
+
+/** Filters of a global audit query; null fields are unrestricted, {@code to} is exclusive. */
+public record AuditSearch(Long releaseId, String performedBy, String action, Instant from, Instant to) {}
@@ -0,0 +1,14 @@
+package com.example.timelock.audit;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Keyset queries over the audit log; see {@link AuditSearchRepositoryImpl}. */
+public interface AuditSearchRepository {
+
+  /**
+   * Up to {@code limit} entries matching {@code search}, newest first (performedAt, then id),
+   * strictly after ({@code afterPerformedAt}, {@code afterId}) when those are given.
+   */
+  List<ReleaseAuditLog> seek(AuditSearch search, Instant afterPerformedAt, Long afterId, int limit);
+}
@@ -0,0 +1,49 @@
+package com.example.timelock.audit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only the filters that are set become predicates, so MySQL can pick the matching
+// (column, performed_at, id) index instead of planning around "? IS NULL OR ..." terms
+@Transactional(readOnly = true)
+class AuditSearchRepositoryImpl implements AuditSearchRepository {
+
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  public List<ReleaseAuditLog> seek(AuditSearch search, Instant afterPerformedAt, Long afterId, int limit) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<ReleaseAuditLog> query = cb.createQuery(ReleaseAuditLog.class);
+    Root<ReleaseAuditLog> l = query.from(ReleaseAuditLog.class);
+    l.fetch("detailsPayload", JoinType.LEFT);
+    Expression<Instant> performedAt = l.get("performedAt");
+    Expression<Long> id = l.get("id");
+
+    List<Predicate> where = new ArrayList<>();
+    if (search.releaseId() != null) where.add(cb.equal(l.get("releaseId"), search.releaseId()));
+    if (search.performedBy() != null) where.add(cb.equal(l.get("performedBy"), search.performedBy()));
+    if (search.action() != null) where.add(cb.equal(l.get("action"), search.action()));
+    if (search.from() != null) where.add(cb.greaterThanOrEqualTo(performedAt, search.from()));
+    if (search.to() != null) where.add(cb.lessThan(performedAt, search.to()));
+    if (afterPerformedAt != null && afterId != null) {
+      where.add(cb.or(cb.lessThan(performedAt, afterPerformedAt),
+          cb.and(cb.equal(performedAt, afterPerformedAt), cb.lessThan(id, afterId))));
+    }
+    query.where(where.toArray(new Predicate[0]));
+    query.orderBy(cb.desc(performedAt), cb.desc(id));
+
+    return em.createQuery(query).setMaxResults(limit).getResultList();
+  }
+}
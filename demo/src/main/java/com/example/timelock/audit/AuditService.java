@@ -1,34 +1,153 @@
 package com.example.timelock.audit;
 
+import com.example.timelock.payload.PayloadStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records release audit entries. In {@code async} mode (the default) entries are handed to
+ * a background writer once the caller's transaction has committed, so an audited action
+ * costs no INSERT of its own and a rolled-back action leaves no entry; they reach the table
+ * a few milliseconds later in multi-row batches. In {@code sync} mode each entry is written
+ * in the caller's transaction and commits or rolls back with it.
+ */
 @Service
 public class AuditService {
   private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+  // Longer details are stored out of row (see ReleaseAuditLog#getDetailsPayload)
+  static final int INLINE_DETAILS = 512;
+
   private final ReleaseAuditLogRepository repository;
+  private final PayloadStore payloads;
+  private final TransactionTemplate ownTx;
+  private final AsyncAuditWriter writer;
 
-  public AuditService(ReleaseAuditLogRepository repository) {
+  public AuditService(ReleaseAuditLogRepository repository,
+                      PayloadStore payloads,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.release.audit.mode:async}") String mode,
+                      @Value("${app.release.audit.buffer-size:65536}") int bufferSize,
+                      @Value("${app.release.audit.batch-size:500}") int batchSize,
+                      @Value("${app.release.audit.flush-ms:5}") long flushMs) {
     this.repository = repository;
+    this.payloads = payloads;
+    this.ownTx = new TransactionTemplate(transactionManager);
+    this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.writer = "sync".equalsIgnoreCase(mode)
+        ? null
+        : new AsyncAuditWriter(bufferSize, batchSize, flushMs, this::write, meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    if (writer != null) writer.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (writer != null) writer.stop();
   }
 
   @Transactional
   public void logAction(Long releaseId, String action, String performedBy, String details) {
+    record(List.of(entry(releaseId, action, performedBy, details)));
+    log.debug("Audit log recorded for release {}: action={}, by={}", releaseId, action, performedBy);
+  }
+
+  /** Bulk variant of {@link #logAction}; the rows go out as one JDBC batch. */
+  @Transactional
+  public void logActions(List<ReleaseAuditLog> entries) {
+    record(entries);
+    log.debug("Audit log recorded for {} releases", entries.size());
+  }
+
+  private void record(List<ReleaseAuditLog> entries) {
+    if (writer == null) {
+      try {
+        entries.forEach(this::externalize);
+        repository.saveAll(entries);
+      } catch (Exception e) {
+        // Don't fail the main operation if audit logging fails
+        log.error("Failed to create {} audit log entries: {}", entries.size(), e.getMessage(), e);
+      }
+    } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          enqueue(entries);
+        }
+      });
+    } else {
+      enqueue(entries);
+    }
+  }
+
+  private void enqueue(List<ReleaseAuditLog> entries) {
+    List<ReleaseAuditLog> overflow = new ArrayList<>();
+    for (ReleaseAuditLog entry : entries) {
+      if (!writer.offer(entry)) overflow.add(entry);
+    }
+    if (!overflow.isEmpty()) {
+      // Backpressure: a full (or stopped) buffer slows the caller down instead of dropping entries
+      try {
+        write(overflow);
+      } catch (RuntimeException e) {
+        log.error("Failed to create {} audit log entries: {}", overflow.size(), e.getMessage(), e);
+      }
+    }
+  }
+
+  // Own transaction: runs on the writer thread, or after the caller's transaction committed.
+  // A failed write puts the entries back as they were, so AsyncAuditWriter can retry them.
+  private void write(List<ReleaseAuditLog> entries) {
+    List<String> details = entries.stream().map(ReleaseAuditLog::getDetails).toList();
     try {
-      ReleaseAuditLog logEntry = new ReleaseAuditLog();
-      logEntry.setReleaseId(releaseId);
-      logEntry.setAction(action);
-      logEntry.setPerformedBy(performedBy);
-      logEntry.setDetails(details);
-      repository.save(logEntry);
-      log.debug("Audit log created for release {}: action={}, by={}", releaseId, action, performedBy);
-    } catch (Exception e) {
-      log.error("Failed to create audit log for release {}: {}", releaseId, e.getMessage(), e);
-      // Don't fail the main operation if audit logging fails
+      ownTx.executeWithoutResult(status -> {
+        entries.forEach(this::externalize);
+        repository.saveAll(entries);
+      });
+    } catch (RuntimeException e) {
+      // Drop the id and payload reference of the rolled-back insert
+      for (int i = 0; i < entries.size(); i++) {
+        ReleaseAuditLog entry = entries.get(i);
+        entry.setId(null);
+        entry.setDetailsPayload(null);
+        entry.setDetails(details.get(i));
+      }
+      throw e;
     }
   }
-}
 
+  private ReleaseAuditLog externalize(ReleaseAuditLog entry) {
+    String details = entry.getDetails();
+    if (entry.getDetailsPayload() == null && details != null && details.length() > INLINE_DETAILS) {
+      entry.setDetailsPayload(payloads.intern(details));
+      entry.setDetails(null);
+    }
+    return entry;
+  }
 
+  public static ReleaseAuditLog entry(Long releaseId, String action, String performedBy, String details) {
+    ReleaseAuditLog logEntry = new ReleaseAuditLog();
+    logEntry.setReleaseId(releaseId);
+    logEntry.setAction(action);
+    logEntry.setPerformedBy(performedBy);
+    logEntry.setDetails(details);
+    return logEntry;
+  }
+}
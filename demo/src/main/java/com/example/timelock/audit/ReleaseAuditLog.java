@@ -1,5 +1,6 @@
 package com.example.timelock.audit;
 
+import com.example.timelock.payload.StoredPayload;
 import jakarta.persistence.*;
 import java.time.Instant;
 
@@ -7,7 +8,9 @@ import java.time.Instant;
 @Table(name = "release_audit_log")
 public class ReleaseAuditLog {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "audit_ids")
+  @TableGenerator(name = "audit_ids", table = "id_sequences", pkColumnName = "sequence_name",
+                  valueColumnName = "next_val", pkColumnValue = "release_audit_log", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -25,6 +28,11 @@ public class ReleaseAuditLog {
   @Column(columnDefinition = "TEXT")
   private String details; // JSON or text details about the action
 
+  // Details longer than AuditService.INLINE_DETAILS live in payloads instead of the row
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "details_hash")
+  private StoredPayload detailsPayload;
+
   // Getters and setters
   public Long getId() { return id; }
   public void setId(Long id) { this.id = id; }
@@ -41,8 +49,11 @@ public class ReleaseAuditLog {
   public Instant getPerformedAt() { return performedAt; }
   public void setPerformedAt(Instant performedAt) { this.performedAt = performedAt; }
 
-  public String getDetails() { return details; }
+  public String getDetails() { return detailsPayload != null ? detailsPayload.text() : details; }
   public void setDetails(String details) { this.details = details; }
+
+  public StoredPayload getDetailsPayload() { return detailsPayload; }
+  public void setDetailsPayload(StoredPayload detailsPayload) { this.detailsPayload = detailsPayload; }
 }
 
 
@@ -2,11 +2,16 @@ package com.example.timelock.audit;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface ReleaseAuditLogRepository extends JpaRepository<ReleaseAuditLog, Long> {
+public interface ReleaseAuditLogRepository extends JpaRepository<ReleaseAuditLog, Long>, AuditSearchRepository {
+  // Externalized details are read by the caller after this returns (open-in-view is off)
+  @EntityGraph(attributePaths = "detailsPayload")
+  @Transactional(readOnly = true)
   Page<ReleaseAuditLog> findByReleaseIdOrderByPerformedAtDesc(Long releaseId, Pageable pageable);
 }
 
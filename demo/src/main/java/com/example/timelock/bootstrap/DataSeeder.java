@@ -2,6 +2,7 @@ package com.example.timelock.bootstrap;
 
 import com.example.timelock.entity.RouteScope;
 import com.example.timelock.entity.User;
+import com.example.timelock.policy.RouteScopeService;
 import com.example.timelock.repo.RouteScopeRepository;
 import com.example.timelock.repo.UserRepository;
 import org.springframework.boot.ApplicationRunner;
@@ -13,7 +14,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class DataSeeder {
 
   @Bean
-  ApplicationRunner seed(UserRepository users, RouteScopeRepository routes, PasswordEncoder enc) {
+  ApplicationRunner seed(UserRepository users, RouteScopeRepository routes, RouteScopeService policies,
+                         PasswordEncoder enc) {
     return args -> {
       users.findByEmailAndActiveTrue("admin@example.com").orElseGet(() -> {
         var u = new User();
@@ -92,9 +94,26 @@ public class DataSeeder {
         routes.save(row("POST", "/api/v1/releases/{id}/actions/approve", "APPROVER"));
         routes.save(row("POST", "/api/v1/releases/{id}/actions/execute", "ADMIN"));
       }
+
+      // routes added after the initial seed; inserted into existing databases too
+      ensure(routes, "POST", "/api/v1/releases/bulk", "USER");
+      // bulk actions need the role of their single-release counterpart; cancel has no row there either
+      ensure(routes, "POST", "/api/v1/releases/bulk/actions/schedule", "ADMIN");
+      ensure(routes, "POST", "/api/v1/releases/bulk/actions/approve", "APPROVER");
+      ensure(routes, "GET", "/api/v1/releases/dead-letters", "ADMIN");
+      ensure(routes, "POST", "/api/v1/releases/dead-letters/replay", "ADMIN");
+      ensure(routes, "GET", "/api/v1/audit/export", "ADMIN");
+      ensure(routes, "GET", "/api/v1/audit", "ADMIN");
+      policies.refresh();
     };
   }
 
+  private void ensure(RouteScopeRepository routes, String method, String routePattern, String requiredRole) {
+    if (!routes.existsByMethodAndRoutePattern(method, routePattern)) {
+      routes.save(row(method, routePattern, requiredRole));
+    }
+  }
+
   private RouteScope row(String method, String routePattern, String requiredRole) {
     RouteScope routeScope = new RouteScope();
     routeScope.setMethod(method);
@@ -0,0 +1,64 @@
+package com.example.timelock.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Staleness guard for replica reads: after a principal's successful write request, that
+ * principal's reads stay on the primary for {@code windowMs}, so they never see a replica
+ * that has not caught up with their own change yet. Requests without a principal
+ * (schedulers, anonymous reads) are never pinned.
+ */
+public class ReadYourWrites implements HandlerInterceptor {
+  private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  private final long windowMs;
+  private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+  public ReadYourWrites(long windowMs) {
+    this.windowMs = windowMs;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest req, HttpServletResponse res, Object handler, Exception ex) {
+    if (!READ_METHODS.contains(req.getMethod()) && ex == null && res.getStatus() < 400) {
+      String principal = currentPrincipal();
+      if (principal != null) {
+        pin(principal);
+      }
+    }
+  }
+
+  public void pin(String principal) {
+    pinnedUntil.put(principal, System.currentTimeMillis() + windowMs);
+  }
+
+  /** True when the calling thread's principal wrote within the window. */
+  public boolean mustReadPrimary() {
+    String principal = currentPrincipal();
+    if (principal == null) return false;
+    Long until = pinnedUntil.get(principal);
+    return until != null && until > System.currentTimeMillis();
+  }
+
+  @Scheduled(fixedDelayString = "${app.release.replica.read-your-writes-ms:5000}")
+  public void evictExpired() {
+    long now = System.currentTimeMillis();
+    pinnedUntil.values().removeIf(until -> until <= now);
+  }
+
+  private static String currentPrincipal() {
+    var auth = SecurityContextHolder.getContext().getAuthentication();
+    if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(String.valueOf(auth.getPrincipal()))) {
+      return null;
+    }
+    return auth.getName();
+  }
+}
@@ -0,0 +1,94 @@
+package com.example.timelock.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Connection source for read-only transactions: replicas in round-robin order, skipping any
+ * that failed to hand out a connection within the last {@code retryMs}. Falls back to the
+ * primary when every replica is down or when {@link ReadYourWrites} pins the caller to it.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final ReadYourWrites readYourWrites;
+  private final long retryMs;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaDataSource(DataSource primary, List<DataSource> replicas, List<String> names,
+                           ReadYourWrites readYourWrites, long retryMs) {
+    this.primary = primary;
+    this.replicas = IntStream.range(0, replicas.size())
+        .mapToObj(i -> new Replica(names.get(i), replicas.get(i)))
+        .toList();
+    this.readYourWrites = readYourWrites;
+    this.retryMs = retryMs;
+  }
+
+  private static final class Replica {
+    final String name;
+    final DataSource dataSource;
+    volatile long downUntil;
+
+    Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (readYourWrites.mustReadPrimary()) {
+      return primary.getConnection();
+    }
+    int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get((start + i) % replicas.size());
+      if (replica.downUntil > now) continue;
+      try {
+        Connection connection = replica.dataSource.getConnection();
+        if (replica.downUntil != 0) {
+          log.info("Replica {} is reachable again", replica.name);
+          replica.downUntil = 0;
+        }
+        return connection;
+      } catch (SQLException e) {
+        replica.downUntil = now + retryMs;
+        log.warn("Replica {} unavailable, skipping it for {} ms: {}", replica.name, retryMs, e.getMessage());
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    // Explicit credentials are the primary's; replica credentials come from app.release.replica.*
+    return primary.getConnection(username, password);
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  /** Replicas currently skipped, for diagnostics. */
+  public List<String> downReplicas() {
+    long now = System.currentTimeMillis();
+    return replicas.stream().filter(r -> r.downUntil > now).map(r -> r.name).toList();
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.timelock.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, active when {@code app.release.replica.urls} is set. The application
+ * DataSource is a {@link LazyConnectionDataSourceProxy} that only fetches a physical
+ * connection at the first statement, once the transaction's read-only flag is known:
+ * {@code @Transactional(readOnly = true)} work goes to {@link ReplicaDataSource}, everything
+ * else (including Flyway and the schedulers' writes) to the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.release.replica.urls:}'.isBlank()")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+  private final ReadYourWrites readYourWrites;
+
+  public ReplicaRoutingConfig(@Value("${app.release.replica.read-your-writes-ms:5000}") long readYourWritesMs) {
+    this.readYourWrites = new ReadYourWrites(readYourWritesMs);
+  }
+
+  @Bean
+  public ReadYourWrites readYourWrites() {
+    return readYourWrites;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(readYourWrites).addPathPatterns("/api/**");
+  }
+
+  @Bean(destroyMethod = "close")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    primary.setPoolName("primary");
+    return primary;
+  }
+
+  @Bean
+  public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                            DataSourceProperties properties,
+                                            @Value("${app.release.replica.urls}") List<String> urls,
+                                            @Value("${app.release.replica.username:}") String username,
+                                            @Value("${app.release.replica.password:}") String password,
+                                            @Value("${app.release.replica.pool-size:10}") int poolSize,
+                                            @Value("${app.release.replica.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                            @Value("${app.release.replica.retry-ms:30000}") long retryMs) {
+    List<DataSource> pools = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < urls.size(); i++) {
+      HikariDataSource replica = new HikariDataSource();
+      replica.setPoolName("replica-" + i);
+      replica.setJdbcUrl(urls.get(i).trim());
+      replica.setUsername(username.isBlank() ? properties.determineUsername() : username);
+      replica.setPassword(password.isBlank() ? properties.determinePassword() : password);
+      replica.setDriverClassName(properties.determineDriverClassName());
+      replica.setMaximumPoolSize(poolSize);
+      replica.setConnectionTimeout(connectTimeoutMs);
+      replica.setReadOnly(true);
+      // Don't fail startup on a replica that is down; it is skipped until it comes back
+      replica.setInitializationFailTimeout(-1);
+      pools.add(replica);
+      names.add(replica.getPoolName());
+    }
+    return new ReplicaDataSource(primaryDataSource, pools, names, readYourWrites, retryMs);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+    proxy.setReadOnlyDataSource(replicaDataSource);
+    return proxy;
+  }
+}
@@ -3,9 +3,14 @@ package com.example.timelock.exception;
 import java.time.Instant;
 
 public class ReleaseExecutionTooEarlyException extends RuntimeException {
+  private final Instant scheduledAt;
+
   public ReleaseExecutionTooEarlyException(Long id, Instant scheduledAt) {
     super("Cannot execute release " + id + " before scheduled time: " + scheduledAt);
+    this.scheduledAt = scheduledAt;
   }
+
+  public Instant getScheduledAt() { return scheduledAt; }
 }
 
 
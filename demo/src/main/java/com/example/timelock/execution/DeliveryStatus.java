@@ -0,0 +1,2 @@
+package com.example.timelock.execution;
+public enum DeliveryStatus { PENDING, DELIVERED, FAILED }
@@ -1,95 +1,230 @@
 package com.example.timelock.execution;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
 
+import java.net.URI;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Non-blocking webhook client. Deliveries share one Reactor Netty connection pool with
+ * keep-alive (and HTTP/2 via ALPN where the target offers it), so a handful of event-loop
+ * threads can keep thousands of requests in flight. Transient failures are retried in
+ * place with jittered exponential backoff; anything left is surfaced as a
+ * {@link WebhookDeliveryException} for the outbox to reschedule. Every attempt goes
+ * through the per-host {@link WebhookCircuitBreakers}, so a tripped target fails fast.
+ * Targets listed under {@code webhook.batch.targets} accept a JSON array of deliveries in
+ * one POST (see {@link #sendBatch}).
+ */
 @Component
 public class ReleaseActionClient {
     private static final Logger log = LoggerFactory.getLogger(ReleaseActionClient.class);
-    private static final int MAX_RETRIES = 3;
-    private static final Duration RETRY_DELAY = Duration.ofSeconds(2);
-    
+    private static final ObjectMapper JSON = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ConnectionProvider connections;
     private final WebClient http;
     private final String webhookUrl;
+    private final Duration timeout;
+    private final Retry retry;
+    private final WebhookCircuitBreakers breakers;
+    private final Set<String> batchTargets;
+    private final int batchMaxItems;
 
-    public ReleaseActionClient(@Value("${app.release.webhook-url:}") String webhookUrl) {
+    public ReleaseActionClient(WebhookCircuitBreakers breakers,
+                               @Value("${app.release.webhook-url:}") String webhookUrl,
+                               @Value("${app.release.webhook.max-connections:500}") int maxConnections,
+                               @Value("${app.release.webhook.pending-acquire-max:10000}") int pendingAcquireMax,
+                               @Value("${app.release.webhook.max-idle-ms:30000}") long maxIdleMs,
+                               @Value("${app.release.webhook.http2:true}") boolean http2,
+                               @Value("${app.release.webhook.timeout-ms:10000}") long timeoutMs,
+                               @Value("${app.release.webhook.retries:2}") int retries,
+                               @Value("${app.release.webhook.min-backoff-ms:200}") long minBackoffMs,
+                               @Value("${app.release.webhook.max-backoff-ms:5000}") long maxBackoffMs,
+                               @Value("${app.release.webhook.batch.targets:}") Set<String> batchTargets,
+                               @Value("${app.release.webhook.batch.max-items:100}") int batchMaxItems) {
+        this.connections = ConnectionProvider.builder("release-webhooks")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(pendingAcquireMax)
+            .pendingAcquireTimeout(Duration.ofMillis(timeoutMs))
+            .maxIdleTime(Duration.ofMillis(maxIdleMs))
+            .evictInBackground(Duration.ofMillis(maxIdleMs))
+            .build();
+        HttpClient httpClient = HttpClient.create(connections)
+            .keepAlive(true)
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(timeoutMs, Integer.MAX_VALUE))
+            .responseTimeout(Duration.ofMillis(timeoutMs));
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
         this.http = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
             .build();
+        this.breakers = breakers;
         this.webhookUrl = webhookUrl;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.retry = Retry.backoff(retries, Duration.ofMillis(minBackoffMs))
+            .maxBackoff(Duration.ofMillis(maxBackoffMs))
+            .jitter(0.5)
+            .filter(e -> e instanceof WebhookDeliveryException wde && wde.isRetryable())
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.batchTargets = Set.copyOf(batchTargets);
+        this.batchMaxItems = Math.max(1, batchMaxItems);
+    }
+
+    @PreDestroy
+    public void close() {
+        connections.dispose();
+    }
+
+    /** Globally configured webhook URL; blank when webhooks are disabled. */
+    public String defaultTarget() {
+        return webhookUrl;
     }
 
-    public void trigger(Long releaseId, String title, String payloadJson) {
-        if (webhookUrl == null || webhookUrl.isBlank()) {
-            log.debug("Webhook URL not configured, skipping webhook trigger for release {}", releaseId);
-            return;
+    /** Destination host of {@code url}, the key for per-target limits; blank for no URL. */
+    public static String hostOf(String url) {
+        if (url == null || url.isBlank()) {
+            return "";
         }
-        
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /** Delivers one release notification; completes empty on success, errors with {@link WebhookDeliveryException}. */
+    public Mono<Void> send(String url, Long releaseId, String title, String payloadJson, String dedupKey) {
         Map<String, Object> payload = Map.of(
             "releaseId", releaseId,
             "title", title != null ? title : "",
             "payload", payloadJson != null ? payloadJson : ""
         );
-        
-        int attempt = 0;
-        Exception lastException = null;
-        
-        while (attempt < MAX_RETRIES) {
-            try {
-                log.debug("Attempting webhook call for release {} (attempt {}/{})", 
-                    releaseId, attempt + 1, MAX_RETRIES);
-                
-                http.post()
-                   .uri(webhookUrl)
-                   .contentType(MediaType.APPLICATION_JSON)
-                   .bodyValue(payload)
-                   .retrieve()
-                   .toBodilessEntity()
-                   .timeout(Duration.ofSeconds(10))
-                   .block();
-                
-                log.info("Webhook triggered successfully for release {} on attempt {}", 
-                    releaseId, attempt + 1);
-                return; // Success
-                
-            } catch (WebClientResponseException e) {
-                lastException = e;
-                int statusCode = e.getStatusCode().value();
-                // Don't retry on 4xx client errors (except 408, 429)
-                if (statusCode >= 400 && statusCode < 500 && statusCode != 408 && statusCode != 429) {
-                    log.warn("Webhook call failed with client error {} for release {}: {}", 
-                        statusCode, releaseId, e.getMessage());
-                    throw new RuntimeException("Webhook call failed: " + e.getMessage(), e);
-                }
-                log.warn("Webhook call failed for release {} (attempt {}): {}", 
-                    releaseId, attempt + 1, e.getMessage());
-            } catch (Exception e) {
-                lastException = e;
-                log.warn("Webhook call failed for release {} (attempt {}): {}", 
-                    releaseId, attempt + 1, e.getMessage());
+        Mono<Void> attempt = http.post()
+            .uri(url)
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("Idempotency-Key", dedupKey)
+            .bodyValue(payload)
+            .retrieve()
+            .toBodilessEntity()
+            .timeout(timeout)
+            .then()
+            .onErrorMap(e -> !(e instanceof WebhookDeliveryException), ReleaseActionClient::toDeliveryException);
+        // Breaker rejections are not WebhookDeliveryExceptions, so they are never retried in place
+        return breakers.protect(hostOf(url), attempt)
+            .retryWhen(retry)
+            .doOnSuccess(v -> log.debug("Webhook delivered for release {} ({})", releaseId, dedupKey));
+    }
+
+    /** True when {@code url} is configured to receive coalesced batches. */
+    public boolean acceptsBatches(String url) {
+        return batchTargets.contains(url);
+    }
+
+    public int batchMaxItems() {
+        return batchMaxItems;
+    }
+
+    /**
+     * Delivers several releases to one batch-capable target as a single JSON array POST.
+     * The receiver may answer with {@code {"results":[{"idempotencyKey":..,"status":..}]}}
+     * to acknowledge items individually; a 2xx without results acknowledges the whole batch.
+     * Emits the failure of every item that was not accepted, keyed by idempotency key.
+     */
+    public Mono<Map<String, WebhookDeliveryException>> sendBatch(String url, List<WebhookOutboxEntry> entries) {
+        List<Map<String, Object>> body = entries.stream()
+            .map(e -> Map.<String, Object>of(
+                "releaseId", e.getReleaseId(),
+                "title", e.getTitle() != null ? e.getTitle() : "",
+                "payload", e.getPayloadJson() != null ? e.getPayloadJson() : "",
+                "idempotencyKey", e.getDedupKey()))
+            .toList();
+        Mono<Map<String, WebhookDeliveryException>> attempt = http.post()
+            .uri(url)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .retrieve()
+            .bodyToMono(String.class)
+            .timeout(timeout)
+            .map(response -> rejectedItems(entries, parseBatchResponse(response)))
+            .defaultIfEmpty(Map.of())
+            .onErrorMap(e -> !(e instanceof WebhookDeliveryException), ReleaseActionClient::toDeliveryException);
+        return breakers.protect(hostOf(url), attempt)
+            .retryWhen(retry)
+            .doOnSuccess(failed -> log.debug("Webhook batch of {} to {} delivered, {} rejected",
+                entries.size(), url, failed.size()));
+    }
+
+    static BatchResponse parseBatchResponse(String body) {
+        try {
+            return JSON.readValue(body, BatchResponse.class);
+        } catch (JsonProcessingException e) {
+            // Receivers that answer with plain text acknowledge the batch as a whole
+            return new BatchResponse(null);
+        }
+    }
+
+    static Map<String, WebhookDeliveryException> rejectedItems(List<WebhookOutboxEntry> entries,
+                                                               BatchResponse response) {
+        if (response.results() == null) {
+            return Map.of();
+        }
+        Map<String, Integer> statuses = new HashMap<>();
+        for (BatchAck ack : response.results()) {
+            if (ack.idempotencyKey() != null) {
+                statuses.put(ack.idempotencyKey(), ack.status());
             }
-            
-            attempt++;
-            if (attempt < MAX_RETRIES) {
-                try {
-                    Thread.sleep(RETRY_DELAY.toMillis() * attempt); // Exponential backoff
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    log.error("Interrupted while waiting to retry webhook for release {}", releaseId);
-                    throw new RuntimeException("Webhook retry interrupted", ie);
-                }
+        }
+        Map<String, WebhookDeliveryException> failed = new LinkedHashMap<>();
+        for (WebhookOutboxEntry entry : entries) {
+            Integer status = statuses.get(entry.getDedupKey());
+            if (status == null) {
+                failed.put(entry.getDedupKey(),
+                    new WebhookDeliveryException("Item missing from batch response", null, true, null));
+            } else if (status < 200 || status >= 300) {
+                boolean retryable = status >= 500 || status == 408 || status == 429;
+                failed.put(entry.getDedupKey(),
+                    new WebhookDeliveryException("Batch item rejected with status " + status, status, retryable, null));
             }
         }
-        
-        // All retries failed
-        log.error("Webhook call failed after {} attempts for release {}", MAX_RETRIES, releaseId, lastException);
-        throw new RuntimeException("Webhook call failed after " + MAX_RETRIES + " attempts", lastException);
+        return failed;
+    }
+
+    record BatchResponse(List<BatchAck> results) {}
+
+    record BatchAck(String idempotencyKey, Integer status) {}
+
+    static WebhookDeliveryException toDeliveryException(Throwable e) {
+        if (e instanceof WebClientResponseException wcre) {
+            int statusCode = wcre.getStatusCode().value();
+            // Don't retry on 4xx client errors (except 408, 429)
+            boolean retryable = statusCode < 400 || statusCode >= 500 || statusCode == 408 || statusCode == 429;
+            return new WebhookDeliveryException("Webhook call failed: " + e.getMessage(), statusCode, retryable, e);
+        }
+        return new WebhookDeliveryException("Webhook call failed: " + e.getMessage(), null, true, e);
     }
 }
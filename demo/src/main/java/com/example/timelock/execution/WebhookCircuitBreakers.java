@@ -0,0 +1,80 @@
+package com.example.timelock.execution;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * One circuit breaker and one bulkhead per destination host. A host that keeps failing
+ * or answering slowly is tripped open and calls to it fail fast with
+ * {@link CallNotPermittedException} until a half-open probe succeeds. Breaker and
+ * bulkhead state is exported through Micrometer.
+ */
+@Component
+public class WebhookCircuitBreakers {
+    private final CircuitBreakerRegistry breakers;
+    private final BulkheadRegistry bulkheads;
+    private final Duration openWait;
+
+    public WebhookCircuitBreakers(MeterRegistry meterRegistry,
+                                  @Value("${app.release.webhook.breaker.failure-rate:50}") float failureRate,
+                                  @Value("${app.release.webhook.breaker.slow-call-rate:80}") float slowCallRate,
+                                  @Value("${app.release.webhook.breaker.slow-call-ms:5000}") long slowCallMs,
+                                  @Value("${app.release.webhook.breaker.window:50}") int window,
+                                  @Value("${app.release.webhook.breaker.min-calls:20}") int minCalls,
+                                  @Value("${app.release.webhook.breaker.open-ms:30000}") long openMs,
+                                  @Value("${app.release.webhook.breaker.half-open-calls:5}") int halfOpenCalls,
+                                  @Value("${app.release.webhook.bulkhead.max-concurrent:256}") int maxConcurrent) {
+        this.openWait = Duration.ofMillis(openMs);
+        this.breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(window)
+            .minimumNumberOfCalls(minCalls)
+            .failureRateThreshold(failureRate)
+            .slowCallRateThreshold(slowCallRate)
+            .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+            .waitDurationInOpenState(openWait)
+            .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            // A target rejecting one payload (non-retryable 4xx) is up; only outages count
+            .recordException(e -> !(e instanceof WebhookDeliveryException wde) || wde.isRetryable())
+            .ignoreExceptions(BulkheadFullException.class)
+            .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(maxConcurrent)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    /** Runs {@code call} through the bulkhead and circuit breaker of {@code host}. */
+    public <T> Mono<T> protect(String host, Mono<T> call) {
+        return call
+            .transformDeferred(BulkheadOperator.of(bulkheads.bulkhead(host)))
+            .transformDeferred(CircuitBreakerOperator.of(breakers.circuitBreaker(host)));
+    }
+
+    /** True when the call was refused locally (breaker open or bulkhead full) and never sent. */
+    public static boolean isRejected(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+    }
+
+    /** How long to hold back deliveries to a tripped host. */
+    public Duration openWait() {
+        return openWait;
+    }
+}
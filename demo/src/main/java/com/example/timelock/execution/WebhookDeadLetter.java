@@ -0,0 +1,66 @@
+package com.example.timelock.execution;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A webhook delivery that gave up: either its attempts ran out or the target rejected it
+ * outright. The matching outbox row stays FAILED and is reset to PENDING on replay.
+ */
+@Entity
+@Table(name = "webhook_dead_letters")
+public class WebhookDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private Long releaseId;
+
+    @Column(nullable = false, length = 1024)
+    private String targetUrl;
+
+    @Column(nullable = false)
+    private String errorClass;
+
+    private Integer lastStatusCode;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant failedAt = Instant.now();
+
+    // Getters and setters
+    public Long getId() { return id; }
+
+    public Long getOutboxId() { return outboxId; }
+    public void setOutboxId(Long outboxId) { this.outboxId = outboxId; }
+
+    public Long getReleaseId() { return releaseId; }
+    public void setReleaseId(Long releaseId) { this.releaseId = releaseId; }
+
+    public String getTargetUrl() { return targetUrl; }
+    public void setTargetUrl(String targetUrl) { this.targetUrl = targetUrl; }
+
+    public String getErrorClass() { return errorClass; }
+    public void setErrorClass(String errorClass) { this.errorClass = errorClass; }
+
+    public Integer getLastStatusCode() { return lastStatusCode; }
+    public void setLastStatusCode(Integer lastStatusCode) { this.lastStatusCode = lastStatusCode; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public Instant getFailedAt() { return failedAt; }
+    public void setFailedAt(Instant failedAt) { this.failedAt = failedAt; }
+}
@@ -0,0 +1,34 @@
+package com.example.timelock.execution;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface WebhookDeadLetterRepository extends JpaRepository<WebhookDeadLetter, Long> {
+    String MATCHES = "(:target IS NULL OR d.targetUrl = :target) " +
+                     "AND (:errorClass IS NULL OR d.errorClass = :errorClass) " +
+                     "AND (:from IS NULL OR d.failedAt >= :from) " +
+                     "AND (:to IS NULL OR d.failedAt < :to)";
+
+    @Query("SELECT d FROM WebhookDeadLetter d WHERE " + MATCHES)
+    Page<WebhookDeadLetter> search(@Param("target") String target, @Param("errorClass") String errorClass,
+                                   @Param("from") Instant from, @Param("to") Instant to, Pageable pageable);
+
+    // Keyset walk over the selection, so replaying a large backlog never re-reads earlier chunks
+    @Query("SELECT d FROM WebhookDeadLetter d WHERE d.id > :afterId AND " + MATCHES + " ORDER BY d.id")
+    List<WebhookDeadLetter> nextChunk(@Param("afterId") long afterId, @Param("target") String target,
+                                      @Param("errorClass") String errorClass, @Param("from") Instant from,
+                                      @Param("to") Instant to, Pageable limit);
+
+    @Modifying
+    @Query("DELETE FROM WebhookDeadLetter d WHERE d.id IN :ids")
+    int deleteAllByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,85 @@
+package com.example.timelock.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Query and replay side of the dead-letter store. A replay does not call targets itself:
+ * it hands the FAILED outbox rows back to the dispatcher as PENDING with their next
+ * attempt spread out at {@code ratePerSecond}, so deliveries go out in parallel through
+ * the usual pool, circuit breakers and retries without flooding a recovering target.
+ */
+@Service
+public class WebhookDeadLetters {
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeadLetters.class);
+    static final int CHUNK = 1000;
+
+    private final WebhookDeadLetterRepository repo;
+    private final WebhookOutbox outbox;
+    private final int defaultRate;
+    private final int maxRate;
+
+    public WebhookDeadLetters(WebhookDeadLetterRepository repo,
+                              WebhookOutbox outbox,
+                              @Value("${app.release.outbox.replay.rate-per-second:100}") int defaultRate,
+                              @Value("${app.release.outbox.replay.max-rate-per-second:1000}") int maxRate) {
+        this.repo = repo;
+        this.outbox = outbox;
+        this.defaultRate = defaultRate;
+        this.maxRate = maxRate;
+    }
+
+    public Page<WebhookDeadLetter> search(String target, String errorClass, Instant from, Instant to,
+                                          Pageable pageable) {
+        return repo.search(target, errorClass, from, to, pageable);
+    }
+
+    /**
+     * Requeues up to {@code limit} matching dead letters (all when null) and returns how
+     * many were handed back to the outbox. Each chunk commits on its own. The walk moves on
+     * past every letter it read, but only rows actually requeued count towards {@code limit}
+     * and the rate spacing.
+     */
+    public Replay replay(String target, String errorClass, Instant from, Instant to,
+                         Integer ratePerSecond, Integer limit) {
+        int rate = ratePerSecond != null ? ratePerSecond : defaultRate;
+        if (rate < 1 || rate > maxRate) {
+            throw new IllegalArgumentException("ratePerSecond must be between 1 and " + maxRate);
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Instant start = Instant.now();
+        long afterId = 0;
+        int requeued = 0;
+        while (limit == null || requeued < limit) {
+            int size = limit == null ? CHUNK : Math.min(CHUNK, limit - requeued);
+            List<WebhookDeadLetter> chunk = repo.nextChunk(afterId, target, errorClass, from, to,
+                PageRequest.of(0, size));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            requeued += outbox.requeue(chunk, start, requeued, rate);
+            afterId = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < size) {
+                break;
+            }
+        }
+        // The last row requeued is the last to become due; nothing requeued completes right away
+        Instant completesBy = requeued == 0 ? start : WebhookOutbox.replayDueAt(start, requeued - 1, rate);
+        log.info("Replaying {} dead-lettered webhook deliveries at {}/s (target={}, errorClass={}, from={}, to={})",
+            requeued, rate, target, errorClass, from, to);
+        return new Replay(requeued, rate, completesBy);
+    }
+
+    /** Outcome of a replay request; {@code completesBy} is when the last row becomes due. */
+    public record Replay(int requeued, int ratePerSecond, Instant completesBy) {}
+}
@@ -0,0 +1,19 @@
+package com.example.timelock.execution;
+
+/**
+ * A webhook delivery that did not succeed. {@code statusCode} is null when no HTTP
+ * response was received (timeout, connection refused, ...).
+ */
+public class WebhookDeliveryException extends RuntimeException {
+    private final Integer statusCode;
+    private final boolean retryable;
+
+    public WebhookDeliveryException(String message, Integer statusCode, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.retryable = retryable;
+    }
+
+    public Integer getStatusCode() { return statusCode; }
+    public boolean isRetryable() { return retryable; }
+}
@@ -0,0 +1,204 @@
+package com.example.timelock.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Write and bookkeeping side of the webhook outbox. {@link #enqueue} joins the caller's
+ * transaction so a delivery exists if and only if the release is EXECUTED; the HTTP call
+ * happens later in {@link WebhookOutboxDispatcher}, outside any database transaction.
+ */
+@Service
+public class WebhookOutbox {
+    private static final Logger log = LoggerFactory.getLogger(WebhookOutbox.class);
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final WebhookOutboxRepository repo;
+    private final WebhookDeadLetterRepository deadLetters;
+    private final ReleaseActionClient client;
+    private final long inflightMs;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+
+    public WebhookOutbox(WebhookOutboxRepository repo,
+                         WebhookDeadLetterRepository deadLetters,
+                         ReleaseActionClient client,
+                         @Value("${app.release.outbox.inflight-ms:60000}") long inflightMs,
+                         @Value("${app.release.outbox.max-attempts:10}") int maxAttempts,
+                         @Value("${app.release.outbox.backoff-ms:2000}") long backoffMs,
+                         @Value("${app.release.outbox.max-backoff-ms:600000}") long maxBackoffMs) {
+        this.repo = repo;
+        this.deadLetters = deadLetters;
+        this.client = client;
+        this.inflightMs = inflightMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    /**
+     * Queues one delivery per target (fan-out); an empty target list falls back to the
+     * global webhook URL. Each row is tracked, retried and reported separately.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Long releaseId, String title, String payloadJson, List<String> targets) {
+        List<String> urls = targets == null || targets.isEmpty() ? defaultTargets() : targets;
+        if (urls.isEmpty()) {
+            log.debug("No webhook target configured, nothing to deliver for release {}", releaseId);
+            return;
+        }
+        List<WebhookOutboxEntry> entries = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            WebhookOutboxEntry entry = new WebhookOutboxEntry();
+            entry.setReleaseId(releaseId);
+            entry.setTargetUrl(urls.get(i));
+            entry.setDedupKey("release-" + releaseId + "-" + i);
+            entry.setTitle(title);
+            entry.setPayloadJson(payloadJson);
+            entries.add(entry);
+        }
+        repo.saveAll(entries);
+    }
+
+    public List<WebhookOutboxEntry> deliveriesOf(Long releaseId) {
+        return repo.findByReleaseIdOrderByIdAsc(releaseId);
+    }
+
+    private List<String> defaultTargets() {
+        String target = client.defaultTarget();
+        return target == null || target.isBlank() ? List.of() : List.of(target);
+    }
+
+    /**
+     * Locks up to {@code limit} due rows and pushes their next attempt past the in-flight
+     * window, so other dispatchers leave them alone while this one delivers them.
+     */
+    @Transactional
+    public List<WebhookOutboxEntry> claimDue(int limit) {
+        Instant now = Instant.now();
+        List<WebhookOutboxEntry> due = repo.lockDue(now, limit);
+        for (WebhookOutboxEntry e : due) {
+            e.setAttempts(e.getAttempts() + 1);
+            e.setNextAttemptAt(now.plusMillis(inflightMs));
+        }
+        return due;
+    }
+
+    @Transactional
+    public void markDelivered(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            repo.markDelivered(ids, Instant.now());
+        }
+    }
+
+    @Transactional
+    public void markFailed(WebhookOutboxEntry entry, Throwable error) {
+        Integer statusCode = null;
+        boolean retryable = true;
+        if (error instanceof WebhookDeliveryException wde) {
+            statusCode = wde.getStatusCode();
+            retryable = wde.isRetryable();
+        }
+        boolean exhausted = !retryable || entry.getAttempts() >= maxAttempts;
+        DeliveryStatus status = exhausted ? DeliveryStatus.FAILED : DeliveryStatus.PENDING;
+        repo.markFailed(entry.getId(), status, Instant.now().plusMillis(backoff(entry.getAttempts())),
+            statusCode, truncate(error.getMessage()));
+        if (exhausted) {
+            deadLetter(entry, statusCode, error);
+            log.error("Webhook delivery {} for release {} failed after {} attempts: {}",
+                entry.getDedupKey(), entry.getReleaseId(), entry.getAttempts(), error.getMessage());
+        } else {
+            log.warn("Webhook delivery {} for release {} failed (attempt {}), will retry: {}",
+                entry.getDedupKey(), entry.getReleaseId(), entry.getAttempts(), error.getMessage());
+        }
+    }
+
+    private void deadLetter(WebhookOutboxEntry entry, Integer statusCode, Throwable error) {
+        WebhookDeadLetter letter = new WebhookDeadLetter();
+        letter.setOutboxId(entry.getId());
+        letter.setReleaseId(entry.getReleaseId());
+        letter.setTargetUrl(entry.getTargetUrl());
+        letter.setErrorClass(errorClass(error));
+        letter.setLastStatusCode(statusCode);
+        letter.setLastError(truncate(error.getMessage()));
+        letter.setAttempts(entry.getAttempts());
+        deadLetters.save(letter);
+    }
+
+    // The underlying failure (timeout, connection refused, 503, ...) rather than our wrapper
+    static String errorClass(Throwable error) {
+        Throwable root = error instanceof WebhookDeliveryException && error.getCause() != null
+            ? error.getCause() : error;
+        return root.getClass().getSimpleName();
+    }
+
+    /**
+     * Hands dead-lettered rows back to the dispatcher and returns how many it requeued. Only
+     * rows still FAILED take a slot: the {@code offset}-th requeued row of a replay becomes due
+     * at {@link #replayDueAt}. Letters of rows that are no longer FAILED are dropped as stale.
+     */
+    @Transactional
+    public int requeue(List<WebhookDeadLetter> letters, Instant start, int offset, int ratePerSecond) {
+        List<Long> failed = letters.isEmpty()
+            ? List.of() : repo.lockFailed(letters.stream().map(WebhookDeadLetter::getOutboxId).toList());
+        Set<Long> stillFailed = new HashSet<>(failed);
+        Map<Instant, List<Long>> bySlot = new TreeMap<>();
+        int requeued = 0;
+        for (WebhookDeadLetter letter : letters) {
+            if (stillFailed.remove(letter.getOutboxId())) {
+                bySlot.computeIfAbsent(replayDueAt(start, offset + requeued, ratePerSecond), k -> new ArrayList<>())
+                    .add(letter.getOutboxId());
+                requeued++;
+            }
+        }
+        for (Map.Entry<Instant, List<Long>> slot : bySlot.entrySet()) {
+            repo.requeue(slot.getValue(), slot.getKey());
+        }
+        if (!letters.isEmpty()) {
+            deadLetters.deleteAllByIds(letters.stream().map(WebhookDeadLetter::getId).toList());
+        }
+        return requeued;
+    }
+
+    /** When the {@code index}-th row of a replay started at {@code start} becomes due. */
+    static Instant replayDueAt(Instant start, int index, int ratePerSecond) {
+        return start.plusSeconds(index / ratePerSecond);
+    }
+
+    /** Keeps the row PENDING for a later attempt, e.g. while the target's circuit is open. */
+    @Transactional
+    public void defer(WebhookOutboxEntry entry, Duration delay, Throwable reason) {
+        repo.defer(entry.getId(), Instant.now().plus(delay), truncate(reason.getMessage()));
+        log.debug("Deferred webhook delivery {} for {}: {}", entry.getDedupKey(), delay, reason.getMessage());
+    }
+
+    @Transactional
+    public int purgeDelivered(Instant cutoff, int limit) {
+        return repo.purgeDelivered(cutoff, limit);
+    }
+
+    private long backoff(int attempts) {
+        // 2s, 4s, 8s, ... capped
+        long factor = 1L << Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(backoffMs * factor, maxBackoffMs);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
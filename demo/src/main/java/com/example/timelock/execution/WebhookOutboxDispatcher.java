@@ -0,0 +1,124 @@
+package com.example.timelock.execution;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers committed outbox rows in batches. Delivery is at-least-once: a crash between
+ * the HTTP call and {@code markDelivered} re-sends the row after the in-flight window,
+ * and receivers deduplicate on the Idempotency-Key header. Rows for batch-capable targets
+ * are coalesced into one POST per target and chunk; rows accumulate between polls, so the
+ * poll interval is the coalescing window.
+ */
+@Component
+public class WebhookOutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(WebhookOutboxDispatcher.class);
+    private static final int PURGE_CHUNK = 5000;
+    private static final Duration BULKHEAD_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final WebhookOutbox outbox;
+    private final ReleaseActionClient client;
+    private final WebhookCircuitBreakers breakers;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration retention;
+
+    public WebhookOutboxDispatcher(WebhookOutbox outbox,
+                                   ReleaseActionClient client,
+                                   WebhookCircuitBreakers breakers,
+                                   @Value("${app.release.outbox.batch-size:500}") int batchSize,
+                                   @Value("${app.release.outbox.concurrency:256}") int concurrency,
+                                   @Value("${app.release.outbox.retention-days:7}") long retentionDays) {
+        this.outbox = outbox;
+        this.client = client;
+        this.breakers = breakers;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    @Scheduled(fixedDelayString = "${app.release.outbox.poll-ms:500}")
+    public void dispatch() {
+        List<WebhookOutboxEntry> batch;
+        do {
+            batch = outbox.claimDue(batchSize);
+            if (!batch.isEmpty()) {
+                deliverAll(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void deliverAll(List<WebhookOutboxEntry> batch) {
+        // All requests of the batch are in flight at once on the client's event loop; the
+        // scheduler thread only waits for the batch as a whole and then does the bookkeeping.
+        List<WebhookOutboxEntry> singles = new ArrayList<>();
+        Map<String, List<WebhookOutboxEntry>> byTarget = new LinkedHashMap<>();
+        for (WebhookOutboxEntry entry : batch) {
+            if (client.acceptsBatches(entry.getTargetUrl())) {
+                byTarget.computeIfAbsent(entry.getTargetUrl(), url -> new ArrayList<>()).add(entry);
+            } else {
+                singles.add(entry);
+            }
+        }
+        List<List<WebhookOutboxEntry>> chunks = new ArrayList<>();
+        for (List<WebhookOutboxEntry> rows : byTarget.values()) {
+            for (int i = 0; i < rows.size(); i += client.batchMaxItems()) {
+                chunks.add(rows.subList(i, Math.min(i + client.batchMaxItems(), rows.size())));
+            }
+        }
+
+        Flux<Outcome> single = Flux.fromIterable(singles)
+            .flatMap(entry -> client.send(entry.getTargetUrl(), entry.getReleaseId(), entry.getTitle(),
+                                          entry.getPayloadJson(), entry.getDedupKey())
+                .then(Mono.just(new Outcome(entry, null)))
+                .onErrorResume(e -> Mono.just(new Outcome(entry, e))), concurrency);
+        Flux<Outcome> coalesced = Flux.fromIterable(chunks)
+            .flatMap(chunk -> client.sendBatch(chunk.get(0).getTargetUrl(), chunk)
+                .flatMapMany(failed -> Flux.fromIterable(chunk)
+                    .map(entry -> new Outcome(entry, failed.get(entry.getDedupKey()))))
+                .onErrorResume(e -> Flux.fromIterable(chunk).map(entry -> new Outcome(entry, e))), concurrency);
+        List<Outcome> outcomes = Flux.merge(single, coalesced)
+            .collectList()
+            .block();
+
+        List<Long> delivered = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            if (outcome.error() == null) {
+                delivered.add(outcome.entry().getId());
+            } else if (WebhookCircuitBreakers.isRejected(outcome.error())) {
+                // Target tripped or saturated: stay pending without burning an attempt
+                Duration delay = outcome.error() instanceof CallNotPermittedException
+                    ? breakers.openWait() : BULKHEAD_RETRY_DELAY;
+                outbox.defer(outcome.entry(), delay, outcome.error());
+            } else {
+                outbox.markFailed(outcome.entry(), outcome.error());
+            }
+        }
+        outbox.markDelivered(delivered);
+        log.debug("Delivered {}/{} outbox rows", delivered.size(), batch.size());
+    }
+
+    private record Outcome(WebhookOutboxEntry entry, Throwable error) {}
+
+    @Scheduled(fixedDelayString = "${app.release.outbox.purge-ms:3600000}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        int removed;
+        do {
+            removed = outbox.purgeDelivered(cutoff, PURGE_CHUNK);
+        } while (removed == PURGE_CHUNK);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.timelock.execution;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One pending or finished webhook delivery. Rows are inserted in the same transaction
+ * that marks a release EXECUTED and delivered afterwards by {@link WebhookOutboxDispatcher}.
+ */
+@Entity
+@Table(name = "webhook_outbox")
+public class WebhookOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long releaseId;
+
+    @Column(nullable = false, length = 1024)
+    private String targetUrl;
+
+    // Sent as Idempotency-Key so receivers can drop redeliveries
+    @Column(nullable = false, unique = true)
+    private String dedupKey;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String payloadJson;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    private Integer lastStatusCode;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    private Instant deliveredAt;
+
+    // Getters and setters
+    public Long getId() { return id; }
+
+    public Long getReleaseId() { return releaseId; }
+    public void setReleaseId(Long releaseId) { this.releaseId = releaseId; }
+
+    public String getTargetUrl() { return targetUrl; }
+    public void setTargetUrl(String targetUrl) { this.targetUrl = targetUrl; }
+
+    public String getDedupKey() { return dedupKey; }
+    public void setDedupKey(String dedupKey) { this.dedupKey = dedupKey; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getPayloadJson() { return payloadJson; }
+    public void setPayloadJson(String payloadJson) { this.payloadJson = payloadJson; }
+
+    public DeliveryStatus getStatus() { return status; }
+    public void setStatus(DeliveryStatus status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public Integer getLastStatusCode() { return lastStatusCode; }
+    public void setLastStatusCode(Integer lastStatusCode) { this.lastStatusCode = lastStatusCode; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getDeliveredAt() { return deliveredAt; }
+    public void setDeliveredAt(Instant deliveredAt) { this.deliveredAt = deliveredAt; }
+}
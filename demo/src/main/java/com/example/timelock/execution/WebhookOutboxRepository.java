@@ -0,0 +1,54 @@
+package com.example.timelock.execution;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface WebhookOutboxRepository extends JpaRepository<WebhookOutboxEntry, Long> {
+    List<WebhookOutboxEntry> findByReleaseIdOrderByIdAsc(Long releaseId);
+
+    // Rows ready for delivery; rows another dispatcher has locked are skipped
+    @Query(value = "SELECT * FROM webhook_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<WebhookOutboxEntry> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE WebhookOutboxEntry e SET e.status = com.example.timelock.execution.DeliveryStatus.DELIVERED, " +
+           "e.deliveredAt = :now, e.lastError = null WHERE e.id IN :ids")
+    int markDelivered(@Param("ids") List<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE WebhookOutboxEntry e SET e.status = :status, e.nextAttemptAt = :next, " +
+           "e.lastStatusCode = :statusCode, e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") DeliveryStatus status, @Param("next") Instant next,
+                   @Param("statusCode") Integer statusCode, @Param("error") String error);
+
+    // Replay: the rows of a chunk that are still FAILED, locked until their requeue commits
+    @Query(value = "SELECT id FROM webhook_outbox WHERE id IN (:ids) AND status = 'FAILED' FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockFailed(@Param("ids") List<Long> ids);
+
+    // Replay: a FAILED row starts over with a fresh attempt budget
+    @Modifying
+    @Query("UPDATE WebhookOutboxEntry e SET e.status = com.example.timelock.execution.DeliveryStatus.PENDING, " +
+           "e.attempts = 0, e.nextAttemptAt = :next WHERE e.id IN :ids " +
+           "AND e.status = com.example.timelock.execution.DeliveryStatus.FAILED")
+    int requeue(@Param("ids") List<Long> ids, @Param("next") Instant next);
+
+    // Hand a claimed row back without counting the attempt (target was never called)
+    @Modifying
+    @Query("UPDATE WebhookOutboxEntry e SET e.attempts = e.attempts - 1, e.nextAttemptAt = :next, " +
+           "e.lastError = :error WHERE e.id = :id")
+    int defer(@Param("id") Long id, @Param("next") Instant next, @Param("error") String error);
+
+    @Modifying
+    @Query(value = "DELETE FROM webhook_outbox WHERE status = 'DELIVERED' AND delivered_at < :cutoff LIMIT :limit",
+           nativeQuery = true)
+    int purgeDelivered(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,147 @@
+package com.example.timelock.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains monthly {@code PARTITION BY RANGE (UNIX_TIMESTAMP(col))} partitions named
+ * {@code pYYYYMM}, each bounded by the first second (UTC) of the following month, in
+ * front of a {@code p_max} catch-all. New months are split off {@code p_max} ahead of
+ * time, while it is still empty and the split is a metadata-only change. Old partitions
+ * are removed whole with {@link #drop}. Jobs on several nodes serialize through
+ * {@link #exclusively}; a change another node already made counts as done.
+ */
+public class MonthlyPartitions {
+  private static final Logger log = LoggerFactory.getLogger(MonthlyPartitions.class);
+
+  private final JdbcTemplate jdbc;
+  private final String table;
+
+  public MonthlyPartitions(JdbcTemplate jdbc, String table) {
+    this.jdbc = jdbc;
+    this.table = table;
+  }
+
+  /**
+   * Runs {@code job} unless another node is working on this table's partitions, in which case
+   * it returns false straight away. The MySQL named lock belongs to a connection held for the
+   * duration of the job, so a node that dies mid-run releases it with its connection.
+   */
+  public boolean exclusively(Runnable job) {
+    String lock = "partitions." + table;
+    return Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) con -> {
+      if (!namedLock(con, "SELECT GET_LOCK(?, 0)", lock)) {
+        log.debug("Partitions of {} are maintained by another node", table);
+        return false;
+      }
+      try {
+        job.run();
+      } finally {
+        namedLock(con, "SELECT RELEASE_LOCK(?)", lock);
+      }
+      return true;
+    }));
+  }
+
+  private static boolean namedLock(Connection con, String sql, String name) throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(sql)) {
+      ps.setString(1, name);
+      try (ResultSet rs = ps.executeQuery()) {
+        return rs.next() && rs.getInt(1) == 1;
+      }
+    }
+  }
+
+  /** Adds the missing partitions up to and including {@code through}; returns how many. */
+  public int ensureThrough(YearMonth through) {
+    // The highest bound is the first day of the first month without a partition
+    YearMonth month = YearMonth.from(Instant.ofEpochSecond(highestBound()).atOffset(ZoneOffset.UTC));
+    int added = 0;
+    for (; !month.isAfter(through); month = month.plusMonths(1)) {
+      try {
+        jdbc.execute("ALTER TABLE " + table + " REORGANIZE PARTITION p_max INTO (" +
+            "PARTITION " + name(month) + " VALUES LESS THAN (" + upperBound(month) + "), " +
+            "PARTITION p_max VALUES LESS THAN MAXVALUE)");
+      } catch (DataAccessException e) {
+        if (highestBound() < upperBound(month)) throw e;
+        log.debug("Partition {} of {} already exists", name(month), table);
+        continue;
+      }
+      log.info("Added partition {} to {}", name(month), table);
+      added++;
+    }
+    return added;
+  }
+
+  private long highestBound() {
+    Long highest = jdbc.queryForObject(
+        "SELECT MAX(CAST(PARTITION_DESCRIPTION AS UNSIGNED)) FROM information_schema.PARTITIONS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_DESCRIPTION <> 'MAXVALUE'",
+        Long.class, table);
+    if (highest == null) {
+      throw new IllegalStateException(table + " is not range partitioned");
+    }
+    return highest;
+  }
+
+  /** A partition's rows have {@code from <= col < to}; {@code from} is null for the first one. */
+  public record Partition(String name, Instant from, Instant to) {}
+
+  /** Partitions holding only rows before {@code before}, oldest first. */
+  public List<Partition> endingBy(Instant before) {
+    List<Partition> all = jdbc.query(
+        "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_DESCRIPTION <> 'MAXVALUE' " +
+        "ORDER BY PARTITION_ORDINAL_POSITION",
+        (rs, i) -> new Partition(rs.getString(1), null, Instant.ofEpochSecond(Long.parseLong(rs.getString(2)))),
+        table);
+    List<Partition> result = new ArrayList<>();
+    Instant from = null;
+    for (Partition p : all) {
+      if (p.to().isAfter(before)) break;
+      result.add(new Partition(p.name(), from, p.to()));
+      from = p.to();
+    }
+    return result;
+  }
+
+  public void drop(String partition) {
+    try {
+      jdbc.execute("ALTER TABLE " + table + " DROP PARTITION " + partition);
+    } catch (DataAccessException e) {
+      if (exists(partition)) throw e;
+      log.debug("Partition {} of {} was already dropped", partition, table);
+      return;
+    }
+    log.info("Dropped partition {} of {}", partition, table);
+  }
+
+  private boolean exists(String partition) {
+    Integer n = jdbc.queryForObject(
+        "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME = ?",
+        Integer.class, table, partition);
+    return n != null && n > 0;
+  }
+
+  static String name(YearMonth month) {
+    return String.format("p%04d%02d", month.getYear(), month.getMonthValue());
+  }
+
+  static long upperBound(YearMonth month) {
+    return month.plusMonths(1).atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.timelock.payload;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/** How the bytes in {@code payloads.data} are encoded. */
+public enum PayloadCodec {
+  NONE {
+    @Override byte[] encode(byte[] raw) { return raw; }
+    @Override byte[] decode(byte[] data, int size) { return data; }
+  },
+  DEFLATE {
+    @Override
+    byte[] encode(byte[] raw) {
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+        byte[] buf = new byte[8192];
+        while (!deflater.finished()) {
+          out.write(buf, 0, deflater.deflate(buf));
+        }
+        return out.toByteArray();
+      } finally {
+        deflater.end();
+      }
+    }
+
+    @Override
+    byte[] decode(byte[] data, int size) {
+      Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(data);
+        byte[] raw = new byte[size];
+        int n = 0;
+        while (n < size) {
+          int k = inflater.inflate(raw, n, size - n);
+          // Nothing more will come out: the stream ended early, was cut off or wants a dictionary
+          if (k == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+            throw new IllegalStateException("Corrupt payload");
+          }
+          n += k;
+        }
+        return raw;
+      } catch (DataFormatException e) {
+        throw new IllegalStateException("Corrupt payload", e);
+      } finally {
+        inflater.end();
+      }
+    }
+  };
+
+  /** Decodes stored bytes back to the UTF-8 text they were written from. */
+  public String text(byte[] data, int size) {
+    return new String(decode(data, size), StandardCharsets.UTF_8);
+  }
+
+  abstract byte[] encode(byte[] raw);
+
+  abstract byte[] decode(byte[] data, int size);
+}
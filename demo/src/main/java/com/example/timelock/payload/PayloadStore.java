@@ -0,0 +1,63 @@
+package com.example.timelock.payload;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Writes text into the {@code payloads} table: deduplicated by content hash, and Deflate
+ * compressed once it is larger than {@code compress-min-bytes} and compression pays off.
+ */
+@Service
+public class PayloadStore {
+  private final StoredPayloadRepository repo;
+  private final int compressMinBytes;
+
+  @PersistenceContext
+  private EntityManager em;
+
+  public PayloadStore(StoredPayloadRepository repo,
+                      @Value("${app.release.payload.compress-min-bytes:256}") int compressMinBytes) {
+    this.repo = repo;
+    this.compressMinBytes = compressMinBytes;
+  }
+
+  /**
+   * Returns a reference to the stored copy of {@code text}, inserting it if no release,
+   * template or audit entry has stored the same content yet. Null stays null.
+   */
+  @Transactional
+  public StoredPayload intern(String text) {
+    if (text == null) return null;
+    byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+    String hash = hash(raw);
+    PayloadCodec codec = PayloadCodec.NONE;
+    byte[] data = raw;
+    if (raw.length >= compressMinBytes) {
+      byte[] deflated = PayloadCodec.DEFLATE.encode(raw);
+      if (deflated.length < raw.length) {
+        codec = PayloadCodec.DEFLATE;
+        data = deflated;
+      }
+    }
+    repo.insertIgnore(hash, codec.name(), raw.length, data);
+    // No SELECT: owners only need the key, the bytes are loaded when first read
+    return em.getReference(StoredPayload.class, hash);
+  }
+
+  // Same digest as MySQL's SHA2(col, 256), which V15 used to migrate existing rows
+  static String hash(byte[] raw) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.timelock.payload;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Content-addressed, possibly compressed text (release payloads, large audit details).
+ * Rows are keyed by the SHA-256 of the uncompressed UTF-8 text, shared by every owner with
+ * the same content, and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "payloads")
+public class StoredPayload {
+  @Id
+  @Column(length = 64)
+  private String hash;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private PayloadCodec codec;
+
+  // Uncompressed length in bytes
+  @Column(nullable = false)
+  private int size;
+
+  @Column(nullable = false, columnDefinition = "LONGBLOB")
+  private byte[] data;
+
+  @Column(nullable = false)
+  private Instant createdAt = Instant.now();
+
+  public String getHash() { return hash; }
+  public PayloadCodec getCodec() { return codec; }
+  public int getSize() { return size; }
+  public Instant getCreatedAt() { return createdAt; }
+
+  public String text() {
+    return codec.text(data, size);
+  }
+}
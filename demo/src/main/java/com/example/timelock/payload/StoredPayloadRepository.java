@@ -0,0 +1,16 @@
+package com.example.timelock.payload;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StoredPayloadRepository extends JpaRepository<StoredPayload, String> {
+
+  // Concurrent writers of the same content both succeed; the row is the same either way
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO payloads (hash, codec, size, data, created_at) " +
+                 "VALUES (:hash, :codec, :size, :data, CURRENT_TIMESTAMP(3))", nativeQuery = true)
+  int insertIgnore(@Param("hash") String hash, @Param("codec") String codec, @Param("size") int size,
+                   @Param("data") byte[] data);
+}
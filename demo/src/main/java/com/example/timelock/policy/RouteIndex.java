@@ -0,0 +1,66 @@
+package com.example.timelock.policy;
+
+import com.example.timelock.entity.RouteScope;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of {@code route_scopes}, compiled once: patterns are parsed up front and
+ * grouped by HTTP method, each group ordered longest pattern first, so a lookup is one map
+ * get and a scan that stops at the first match. Same precedence as before the index: the
+ * longest matching pattern wins, ties go to the row read first.
+ */
+final class RouteIndex {
+  static final RouteIndex EMPTY = new RouteIndex(Map.of(), "");
+
+  private record Route(PathPattern pattern, String requiredRole) {}
+
+  private final Map<String, List<Route>> byMethod;
+  private final String stamp;
+
+  private RouteIndex(Map<String, List<Route>> byMethod, String stamp) {
+    this.byMethod = byMethod;
+    this.stamp = stamp;
+  }
+
+  static RouteIndex compile(List<RouteScope> scopes, String stamp) {
+    PathPatternParser parser = new PathPatternParser();
+    Map<String, List<Route>> byMethod = new HashMap<>();
+    for (RouteScope scope : scopes) {
+      byMethod.computeIfAbsent(scope.getMethod().toUpperCase(Locale.ROOT), m -> new ArrayList<>())
+          .add(new Route(parser.parse(scope.getRoutePattern()), scope.getRequiredRole()));
+    }
+    Map<String, List<Route>> sorted = new HashMap<>();
+    byMethod.forEach((method, routes) -> {
+      // stable: equal lengths keep row order
+      routes.sort(Comparator.comparingInt((Route r) -> r.pattern().getPatternString().length()).reversed());
+      sorted.put(method, List.copyOf(routes));
+    });
+    return new RouteIndex(Map.copyOf(sorted), stamp);
+  }
+
+  /** Role required for the request, or null when no route scope applies. */
+  String requiredRoleFor(String method, String path) {
+    List<Route> routes = byMethod.get(method.toUpperCase(Locale.ROOT));
+    if (routes == null) return null;
+    PathContainer requestPath = PathContainer.parsePath(path);
+    for (Route route : routes) {
+      if (route.pattern().matches(requestPath)) {
+        return route.requiredRole();
+      }
+    }
+    return null;
+  }
+
+  String stamp() {
+    return stamp;
+  }
+}
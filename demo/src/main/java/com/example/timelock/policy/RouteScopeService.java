@@ -1,32 +1,47 @@
 package com.example.timelock.policy;
 
 import com.example.timelock.repo.RouteScopeRepository;
-import com.example.timelock.entity.RouteScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.pattern.PathPattern;
-import org.springframework.web.util.pattern.PathPatternParser;
-import org.springframework.http.server.PathContainer;
 
-import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Answers authorization lookups from an in-memory {@link RouteIndex}. The index is rebuilt
+ * and swapped in atomically whenever the content stamp of {@code route_scopes} changes, so
+ * requests never touch the database and always see one consistent set of routes.
+ */
 @Service
 public class RouteScopeService {
+  private static final Logger log = LoggerFactory.getLogger(RouteScopeService.class);
+
   private final RouteScopeRepository repo;
-  private final PathPatternParser parser = new PathPatternParser();
+  private final AtomicReference<RouteIndex> index = new AtomicReference<>();
 
   public RouteScopeService(RouteScopeRepository repo) { this.repo = repo; }
 
   public String requiredRoleFor(String method, String path) {
-    var requestPath = PathContainer.parsePath(path);
-    return repo.findAll().stream()
-      .filter(r -> method.equalsIgnoreCase(r.getMethod()))
-      .filter(r -> {
-        PathPattern p = parser.parse(r.getRoutePattern()); // e.g. /api/v1/releases/{id}/actions/schedule
-        return p.matches(requestPath);
-      })
-      .sorted(Comparator.comparingInt((RouteScope r) -> r.getRoutePattern().length()).reversed())
-      .map(RouteScope::getRequiredRole)
-      .findFirst()
-      .orElse(null);
+    RouteIndex current = index.get();
+    if (current == null) {
+      current = refresh();
+    }
+    return current.requiredRoleFor(method, path);
+  }
+
+  /** Reloads the routes if they changed since the index was built; cheap when they did not. */
+  @Scheduled(fixedDelayString = "${app.release.policy.refresh-ms:5000}")
+  public RouteIndex refresh() {
+    String stamp = repo.stamp();
+    RouteIndex current = index.get();
+    if (current != null && Objects.equals(current.stamp(), stamp)) {
+      return current;
+    }
+    RouteIndex rebuilt = RouteIndex.compile(repo.findAll(), stamp != null ? stamp : "");
+    index.set(rebuilt);
+    log.info("Route policy index rebuilt ({})", stamp);
+    return rebuilt;
   }
 }
@@ -0,0 +1,70 @@
+package com.example.timelock.release;
+
+import com.example.timelock.payload.StoredPayload;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A terminal release moved to {@code releases_archive} by {@link ReleaseArchiver}. Rows are
+ * written by the archiver's INSERT ... SELECT only; this mapping is for reads.
+ */
+@Entity
+@Immutable
+@Table(name = "releases_archive")
+public class ArchivedRelease {
+  @Id
+  private Long id;
+
+  private String title;
+
+  @Column(columnDefinition = "TEXT")
+  private String description;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "payload_hash")
+  private StoredPayload payload;
+
+  @Enumerated(EnumType.STRING)
+  private ReleaseStatus status;
+
+  private Instant scheduledAt;
+  private String createdBy;
+  private Instant createdAt;
+  private String approvedBy;
+  private Instant approvedAt;
+  private Instant executedAt;
+  private long version;
+  private Instant archivedAt;
+
+  // release_targets rows are left in place when a release is archived
+  @ElementCollection
+  @CollectionTable(name = "release_targets", joinColumns = @JoinColumn(name = "release_id"))
+  @OrderColumn(name = "position")
+  @Column(name = "url", length = 1024, nullable = false)
+  private List<String> targets = new ArrayList<>();
+
+  public Long getId() { return id; }
+  public ReleaseStatus getStatus() { return status; }
+  public Instant getArchivedAt() { return archivedAt; }
+
+  /** The release as the API shows it; read-only, saving it is a mistake. */
+  public Release toRelease() {
+    Release r = new Release(id, version);
+    r.setTitle(title);
+    r.setDescription(description);
+    r.setPayload(payload);
+    r.setStatus(status);
+    r.setScheduledAt(scheduledAt);
+    r.setCreatedBy(createdBy);
+    r.setCreatedAt(createdAt);
+    r.setApprovedBy(approvedBy);
+    r.setApprovedAt(approvedAt);
+    r.setExecutedAt(executedAt);
+    r.setTargets(new ArrayList<>(targets));
+    return r;
+  }
+}
@@ -1,33 +1,207 @@
 package com.example.timelock.release;
 
+import com.example.timelock.exception.ReleaseExecutionTooEarlyException;
+import com.example.timelock.execution.ReleaseActionClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Runs APPROVED releases once they are due.
+ *
+ * In {@code timer} mode (default) a dedicated thread waits on the in-memory
+ * {@link ReleaseTimer} and fires each release at its scheduled instant; the table is
+ * only read at startup and on a slow refresh that arms anything entering the horizon.
+ * In {@code poll} mode a fixed-delay loop claims the next 50 due releases instead.
+ * In {@code drain} mode a dedicated thread claims batches back-to-back while overdue
+ * work remains, sizing each batch from how long the previous one took, and only
+ * sleeps for the poll delay once the queue is empty.
+ * Either way a release is only executed after this node leased it through
+ * {@link ReleaseLeases}, so replicas never work on the same release. Each execution
+ * runs in its own transaction on the {@link ReleaseExecutionPool}.
+ */
 @Component
 public class DueExecutor {
   private static final Logger log = LoggerFactory.getLogger(DueExecutor.class);
+  private static final long TAKE_TIMEOUT_MS = 1000;
+  private static final int BATCH_SIZE = 50;
   private final ReleaseRepository repo;
   private final ReleaseService svc;
+  private final ReleaseTimer timer;
+  private final ReleaseLeases leases;
+  private final ReleaseExecutionPool pool;
+  private final String mode;
+  private final long pollMs;
+  private final long targetBatchMs;
+  private final int minBatch;
+  private final int maxBatch;
+  private final AtomicLong backlog = new AtomicLong();
+  private volatile Thread worker;
+
+  public DueExecutor(ReleaseRepository repo, ReleaseService svc, ReleaseTimer timer,
+                     ReleaseLeases leases, ReleaseExecutionPool pool,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.release.scheduler.mode:timer}") String mode,
+                     @Value("${app.release.scheduler.poll-ms:5000}") long pollMs,
+                     @Value("${app.release.scheduler.drain.target-batch-ms:2000}") long targetBatchMs,
+                     @Value("${app.release.scheduler.drain.min-batch:10}") int minBatch,
+                     @Value("${app.release.scheduler.drain.max-batch:1000}") int maxBatch) {
+    this.repo = repo; this.svc = svc; this.timer = timer; this.leases = leases;
+    this.pool = pool;
+    this.mode = mode.toLowerCase();
+    this.pollMs = pollMs;
+    this.targetBatchMs = targetBatchMs;
+    this.minBatch = minBatch;
+    this.maxBatch = maxBatch;
+    Gauge.builder("releases.backlog", backlog, AtomicLong::get)
+        .description("APPROVED releases whose scheduled time has passed")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (timer.isEnabled()) {
+      refresh();
+      worker = Thread.ofPlatform().name("release-timer").daemon().start(this::runTimer);
+      log.info("Release timer started with {} armed releases", timer.size());
+    } else if ("drain".equals(mode)) {
+      worker = Thread.ofPlatform().name("release-drain").daemon().start(this::runDrain);
+      log.info("Release drain loop started");
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread t = worker;
+    if (t != null) t.interrupt();
+  }
 
-  public DueExecutor(ReleaseRepository repo, ReleaseService svc) {
-    this.repo = repo; this.svc = svc;
+  @Scheduled(fixedDelayString = "${app.release.scheduler.refresh-ms:60000}",
+             initialDelayString = "${app.release.scheduler.refresh-ms:60000}")
+  public void refresh() {
+    if (!timer.isEnabled()) return;
+    timer.armAll(repo.findDue(ReleaseStatus.APPROVED, timer.horizon()));
   }
 
-  @Scheduled(fixedDelay = 5000) // every 5s
+  @Scheduled(fixedDelayString = "${app.release.scheduler.backlog-ms:15000}")
+  public void measureBacklog() {
+    backlog.set(repo.countByStatusAndScheduledAtBefore(ReleaseStatus.APPROVED, Instant.now()));
+  }
+
+  @Scheduled(fixedDelayString = "${app.release.scheduler.poll-ms:5000}") // every 5s
   public void tick() {
-    var due = repo.findTop50ByStatusAndScheduledAtBeforeOrderByScheduledAtAsc(
-      ReleaseStatus.APPROVED, Instant.now()
-    );
-    for (var r : due) {
+    if (!"poll".equals(mode)) return;
+    runBatch(leases.claimDue(BATCH_SIZE));
+  }
+
+  private void runTimer() {
+    while (!Thread.currentThread().isInterrupted()) {
+      Long id = null;
       try {
-        svc.executeRelease(r.getId(), null);
-        log.info("Auto-executed release {}", r.getId());
+        id = timer.take(TAKE_TIMEOUT_MS);
+        if (id != null && leases.claim(id)) {
+          Long claimed = id;
+          pool.submit(targetsOf(List.of(claimed)).getOrDefault(claimed, ""), () -> execute(claimed));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        // DB blip or rejected submission: this thread is the only executor in timer mode, so it
+        // must survive. The lease (if taken) is ours and can be re-claimed when the id fires again.
+        log.warn("Release timer could not dispatch {}: {}", id, e.getMessage());
+        if (id != null) {
+          timer.arm(id, Instant.now().plusMillis(TAKE_TIMEOUT_MS));
+        }
+      }
+    }
+  }
+
+  private void runDrain() {
+    int batch = BATCH_SIZE;
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        long started = System.nanoTime();
+        List<Long> ids = leases.claimDue(batch);
+        if (!ids.isEmpty()) {
+          runBatch(ids);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        boolean drained = ids.size() < batch;
+        batch = nextBatchSize(batch, ids.size(), elapsedMs, targetBatchMs, minBatch, maxBatch);
+        if (drained) {
+          // Nothing more is claimable right now: fall back to idle polling
+          Thread.sleep(pollMs);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
       } catch (Exception e) {
-        log.warn("Could not auto-execute {}: {}", r.getId(), e.getMessage());
+        log.warn("Release drain iteration failed: {}", e.getMessage());
+        try {
+          Thread.sleep(pollMs);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
       }
     }
   }
+
+  /**
+   * Scales the batch towards {@code targetMs} per batch, halfway per step to avoid oscillating.
+   * Only a full batch says how fast releases drain; after a partial one the size is kept.
+   */
+  static int nextBatchSize(int current, int claimed, long elapsedMs, long targetMs, int min, int max) {
+    if (claimed < current) {
+      return current;
+    }
+    long scaled = current * targetMs / Math.max(elapsedMs, 1);
+    long smoothed = (current + scaled) / 2;
+    return (int) Math.max(min, Math.min(max, smoothed));
+  }
+
+  private void runBatch(List<Long> ids) {
+    Map<Long, String> targets = targetsOf(ids);
+    List<CompletableFuture<Void>> running = new ArrayList<>();
+    for (Long id : ids) {
+      running.add(pool.submit(targets.getOrDefault(id, ""), () -> execute(id)));
+    }
+    // Wait for the batch so the next claim does not overlap with leases still in flight
+    CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+  }
+
+  // Target host per release; absent (all on the global webhook) when it has no targets of its own
+  private Map<Long, String> targetsOf(List<Long> ids) {
+    Map<Long, String> hosts = new HashMap<>();
+    for (ReleaseTarget t : repo.findFirstTargets(ids)) {
+      hosts.put(t.releaseId(), ReleaseActionClient.hostOf(t.url()));
+    }
+    return hosts;
+  }
+
+  private void execute(Long id) {
+    try {
+      svc.executeRelease(id, null);
+      log.info("Auto-executed release {}", id);
+    } catch (ReleaseExecutionTooEarlyException e) {
+      // Stored scheduled_at is rounded to the column precision; fire again at the stored instant
+      timer.arm(id, e.getScheduledAt());
+    } catch (Exception e) {
+      log.warn("Could not auto-execute {}: {}", id, e.getMessage());
+    }
+  }
 }
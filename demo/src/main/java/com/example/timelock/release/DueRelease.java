@@ -0,0 +1,6 @@
+package com.example.timelock.release;
+
+import java.time.Instant;
+
+/** Minimal (id, scheduledAt) view used to arm the in-memory release timer. */
+public record DueRelease(Long id, Instant scheduledAt) {}
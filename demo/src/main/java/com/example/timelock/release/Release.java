@@ -1,11 +1,18 @@
 package com.example.timelock.release;
 
+import com.example.timelock.payload.StoredPayload;
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity @Table(name = "releases")
 public class Release {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // Pooled ids: one id_sequences round trip per 50 rows, and inserts stay batchable
+  @Id
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "release_ids")
+  @TableGenerator(name = "release_ids", table = "id_sequences", pkColumnName = "sequence_name",
+                  valueColumnName = "next_val", pkColumnValue = "releases", allocationSize = 50)
   private Long id;
 
   @Column(nullable=false) private String title;
@@ -14,8 +21,10 @@ public class Release {
   @Column(columnDefinition = "TEXT")
   private String description;
 
-  @Column(columnDefinition = "TEXT")   // or "LONGTEXT" if payloads can be large
-  private String payloadJson;
+  // Compressed and deduplicated in payloads; only read when the payload itself is needed
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "payload_hash")
+  private StoredPayload payload;
 
   @Enumerated(EnumType.STRING)
   @Column(nullable=false) private ReleaseStatus status = ReleaseStatus.DRAFT;
@@ -29,14 +38,40 @@ public class Release {
   private Instant approvedAt;
   private Instant executedAt;
 
+  // Webhook URLs notified on execution; empty means the global app.release.webhook-url
+  @ElementCollection
+  @CollectionTable(name = "release_targets", joinColumns = @JoinColumn(name = "release_id"))
+  @OrderColumn(name = "position")
+  @Column(name = "url", length = 1024, nullable = false)
+  private List<String> targets = new ArrayList<>();
+
+  // Scheduler node currently allowed to auto-execute this release, until leaseExpiresAt
+  private String leaseOwner;
+  private Instant leaseExpiresAt;
+
+  @Version
+  private long version;
+
+  public Release() {}
+
+  // Detached copy of an archived release (ArchivedRelease#toRelease); never persisted
+  Release(Long id, long version) {
+    this.id = id;
+    this.version = version;
+  }
+
   // getters/setters …
   public Long getId() { return id; }
+  public long getVersion() { return version; }
+  // Mirrors a guarded UPDATE's version bump on a copy that UPDATE detached
+  void advanceVersion() { version++; }
   public String getTitle() { return title; }
   public void setTitle(String title) { this.title = title; }
   public String getDescription() { return description; }
   public void setDescription(String description) { this.description = description; }
-  public String getPayloadJson() { return payloadJson; }
-  public void setPayloadJson(String payloadJson) { this.payloadJson = payloadJson; }
+  public String getPayloadJson() { return payload != null ? payload.text() : null; }
+  public StoredPayload getPayload() { return payload; }
+  public void setPayload(StoredPayload payload) { this.payload = payload; }
   public ReleaseStatus getStatus() { return status; }
   public void setStatus(ReleaseStatus status) { this.status = status; }
   public Instant getScheduledAt() { return scheduledAt; }
@@ -51,4 +86,10 @@ public class Release {
   public void setApprovedAt(Instant approvedAt) { this.approvedAt = approvedAt; }
   public Instant getExecutedAt() { return executedAt; }
   public void setExecutedAt(Instant executedAt) { this.executedAt = executedAt; }
+  public List<String> getTargets() { return targets; }
+  public void setTargets(List<String> targets) { this.targets = targets; }
+  public String getLeaseOwner() { return leaseOwner; }
+  public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+  public Instant getLeaseExpiresAt() { return leaseExpiresAt; }
+  public void setLeaseExpiresAt(Instant leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
 }
\ No newline at end of file
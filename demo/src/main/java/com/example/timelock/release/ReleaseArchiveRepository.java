@@ -0,0 +1,15 @@
+package com.example.timelock.release;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReleaseArchiveRepository extends JpaRepository<ArchivedRelease, Long> {
+
+  @Query("SELECT new com.example.timelock.release.ReleaseState(a.id, a.status, a.scheduledAt, a.version) " +
+         "FROM ArchivedRelease a WHERE a.id IN :ids")
+  List<ReleaseState> findStates(@Param("ids") Collection<Long> ids);
+}
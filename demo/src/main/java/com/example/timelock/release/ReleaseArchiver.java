@@ -0,0 +1,89 @@
+package com.example.timelock.release;
+
+import com.example.timelock.partition.MonthlyPartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves EXECUTED and CANCELLED releases created more than {@code retention-days} ago from
+ * {@code releases} to the partitioned {@code releases_archive}, so the hot table (and the
+ * status indexes the scheduler and list endpoints scan) only holds the working set. Each
+ * batch is one transaction: copy, delete and bump {@code release_archive_counts}. The status
+ * counters are not touched, archived releases still count. {@link ReleaseService#findById}
+ * falls back to the archive, and audit history is keyed by release id, so both keep working.
+ */
+@Component
+public class ReleaseArchiver {
+  private static final Logger log = LoggerFactory.getLogger(ReleaseArchiver.class);
+
+  private static final String COLUMNS = "id, title, description, payload_hash, status, scheduled_at, " +
+      "created_by, created_at, approved_by, approved_at, executed_at, version";
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final MonthlyPartitions partitions;
+  private final Duration retention;
+  private final int batchSize;
+  private final int monthsAhead;
+
+  public ReleaseArchiver(JdbcTemplate jdbc,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.release.archive.retention-days:90}") long retentionDays,
+                         @Value("${app.release.archive.batch-size:1000}") int batchSize,
+                         @Value("${app.release.archive.months-ahead:3}") int monthsAhead) {
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.partitions = new MonthlyPartitions(jdbc, "releases_archive");
+    this.retention = Duration.ofDays(retentionDays);
+    this.batchSize = batchSize;
+    this.monthsAhead = monthsAhead;
+  }
+
+  @Scheduled(initialDelayString = "${app.release.archive.interval-ms:3600000}",
+             fixedDelayString = "${app.release.archive.interval-ms:3600000}")
+  public void archive() {
+    // Batches below are safe to run on every node; only the partition DDL is serialized
+    partitions.exclusively(() -> partitions.ensureThrough(YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead)));
+    Instant cutoff = Instant.now().minus(retention);
+    int total = 0;
+    int moved;
+    do {
+      moved = tx.execute(status -> archiveBatch(cutoff));
+      total += moved;
+    } while (moved == batchSize);
+    if (total > 0) {
+      log.info("Archived {} releases created before {}", total, cutoff);
+    }
+  }
+
+  private int archiveBatch(Instant cutoff) {
+    // Another node archiving at the same time takes different rows
+    List<Long> ids = jdbc.queryForList(
+        "SELECT id FROM releases WHERE status IN ('EXECUTED', 'CANCELLED') AND created_at < ? " +
+        "LIMIT ? FOR UPDATE SKIP LOCKED", Long.class, Timestamp.from(cutoff), batchSize);
+    if (ids.isEmpty()) return 0;
+    String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+    Object[] args = ids.toArray();
+    jdbc.update("INSERT INTO release_archive_counts (status, count) SELECT * FROM (" +
+        "SELECT status, COUNT(*) AS n FROM releases WHERE id IN (" + in + ") GROUP BY status) AS moved " +
+        "ON DUPLICATE KEY UPDATE count = release_archive_counts.count + moved.n", args);
+    jdbc.update("INSERT INTO releases_archive (" + COLUMNS + ") " +
+        "SELECT " + COLUMNS + " FROM releases WHERE id IN (" + in + ")", args);
+    jdbc.update("DELETE FROM releases WHERE id IN (" + in + ")", args);
+    return ids.size();
+  }
+}
@@ -0,0 +1,323 @@
+package com.example.timelock.release;
+
+import com.example.timelock.audit.AuditService;
+import com.example.timelock.audit.ReleaseAuditLog;
+import com.example.timelock.exception.ReleaseAlreadyExecutedException;
+import com.example.timelock.exception.ReleaseCancelledException;
+import com.example.timelock.exception.ReleaseNotFoundException;
+import com.example.timelock.payload.PayloadStore;
+import com.example.timelock.payload.StoredPayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/schedule/approve/cancel. Items are processed in chunks of {@value #CHUNK},
+ * one transaction per chunk: inserts (with pooled ids) and their audit rows go out as JDBC
+ * batches. Transitions lock the chunk's rows while reading their states, then run a batch of
+ * guarded {@code UPDATE ... WHERE id = ? AND status = ?} against the states they locked.
+ * Business rule violations are reported per item and never roll back the rest of the chunk.
+ */
+@Service
+public class ReleaseBulkService {
+  private static final Logger log = LoggerFactory.getLogger(ReleaseBulkService.class);
+  static final int CHUNK = 500;
+
+  private static final String SCHEDULE_SQL =
+      "UPDATE releases SET status = 'SCHEDULED', scheduled_at = ?, version = version + 1 " +
+      "WHERE id = ? AND status = ?";
+  private static final String APPROVE_SQL =
+      "UPDATE releases SET status = 'APPROVED', approved_by = ?, approved_at = ?, version = version + 1 " +
+      "WHERE id = ? AND status = ?";
+  private static final String CANCEL_SQL =
+      "UPDATE releases SET status = 'CANCELLED', version = version + 1 WHERE id = ? AND status = ?";
+  // Locked in id order, so bulk requests over overlapping ids queue up instead of deadlocking
+  private static final String LOCK_STATES_SQL =
+      "SELECT id, status, scheduled_at, version FROM releases WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+  private final ReleaseRepository repo;
+  private final ReleaseArchiveRepository archive;
+  private final AuditService auditService;
+  private final ReleaseStatistics statistics;
+  private final ReleaseTimer timer;
+  private final PayloadStore payloads;
+  private final ReleaseInvalidations invalidations;
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+
+  public ReleaseBulkService(ReleaseRepository repo,
+                            ReleaseArchiveRepository archive,
+                            AuditService auditService,
+                            ReleaseStatistics statistics,
+                            ReleaseTimer timer,
+                            PayloadStore payloads,
+                            ReleaseInvalidations invalidations,
+                            JdbcTemplate jdbc,
+                            PlatformTransactionManager transactionManager) {
+    this.repo = repo;
+    this.archive = archive;
+    this.auditService = auditService;
+    this.statistics = statistics;
+    this.timer = timer;
+    this.payloads = payloads;
+    this.invalidations = invalidations;
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(transactionManager);
+  }
+
+  public record NewRelease(String title, String description, String payloadJson, List<String> targets) {}
+
+  public record ScheduleItem(Long id, Instant scheduledAt) {}
+
+  /** Outcome of one item, in request order; {@code error} is null on success. */
+  public record Result(int index, Long id, String error) {
+    public boolean ok() { return error == null; }
+  }
+
+  public List<Result> create(List<NewRelease> items, String createdBy) {
+    return chunked(items, (chunk, offset) -> createChunk(chunk, offset, createdBy),
+        (item, index) -> new Result(index, null, null));
+  }
+
+  public List<Result> schedule(List<ScheduleItem> items) {
+    return chunked(items, (chunk, offset) -> {
+      List<Candidate> candidates = new ArrayList<>();
+      Result[] results = resolve(chunk, offset, ScheduleItem::id, candidates,
+          (item, state) -> new Candidate(state, item.scheduledAt()));
+      int[] updated = batch(SCHEDULE_SQL, candidates, (ps, c) -> {
+        ps.setTimestamp(1, Timestamp.from(c.when()));
+        ps.setLong(2, c.id());
+        ps.setString(3, c.from().name());
+      });
+      List<Candidate> done = settle(candidates, updated, results, offset, ReleaseStatus.SCHEDULED);
+      done.forEach(c -> timer.disarm(c.id()));
+      audit(done, "SCHEDULED", "system", c -> String.format("Scheduled for: %s", c.when()));
+      return Arrays.asList(results);
+    }, (item, index) -> new Result(index, item.id(), null));
+  }
+
+  public List<Result> approve(List<Long> ids, String approver) {
+    return chunked(ids, (chunk, offset) -> {
+      Instant now = Instant.now();
+      List<Candidate> candidates = new ArrayList<>();
+      Result[] results = resolve(chunk, offset, Function.identity(), candidates,
+          (id, state) -> new Candidate(state, state.scheduledAt()));
+      int[] updated = batch(APPROVE_SQL, candidates, (ps, c) -> {
+        ps.setString(1, approver);
+        ps.setTimestamp(2, Timestamp.from(now));
+        ps.setLong(3, c.id());
+        ps.setString(4, c.from().name());
+      });
+      List<Candidate> done = settle(candidates, updated, results, offset, ReleaseStatus.APPROVED);
+      done.forEach(c -> timer.arm(c.id(), c.when()));
+      audit(done, "APPROVED", approver, c -> null);
+      return Arrays.asList(results);
+    }, (id, index) -> new Result(index, id, null));
+  }
+
+  public List<Result> cancel(List<Long> ids, String cancelledBy) {
+    return chunked(ids, (chunk, offset) -> {
+      List<Candidate> candidates = new ArrayList<>();
+      Result[] results = resolve(chunk, offset, Function.identity(), candidates,
+          (id, state) -> new Candidate(state, null));
+      int[] updated = batch(CANCEL_SQL, candidates, (ps, c) -> {
+        ps.setLong(1, c.id());
+        ps.setString(2, c.from().name());
+      });
+      List<Candidate> done = settle(candidates, updated, results, offset, ReleaseStatus.CANCELLED);
+      done.forEach(c -> timer.disarm(c.id()));
+      audit(done, "CANCELLED", cancelledBy, c -> null);
+      return Arrays.asList(results);
+    }, (id, index) -> new Result(index, id, null));
+  }
+
+  private List<Result> createChunk(List<NewRelease> chunk, int offset, String createdBy) {
+    Result[] results = new Result[chunk.size()];
+    List<Release> releases = new ArrayList<>(chunk.size());
+    List<Integer> positions = new ArrayList<>(chunk.size());
+    // Bulk requests often repeat one payload; store it once per chunk
+    Map<String, StoredPayload> interned = new HashMap<>();
+    for (int i = 0; i < chunk.size(); i++) {
+      NewRelease item = chunk.get(i);
+      try {
+        var r = new Release();
+        r.setTitle(item.title());
+        r.setDescription(item.description());
+        if (item.payloadJson() != null) {
+          r.setPayload(interned.computeIfAbsent(item.payloadJson(), payloads::intern));
+        }
+        r.setTargets(ReleaseService.validTargets(item.targets()));
+        r.setCreatedBy(createdBy);
+        r.setStatus(ReleaseStatus.DRAFT);
+        releases.add(r);
+        positions.add(i);
+      } catch (IllegalArgumentException e) {
+        results[i] = new Result(offset + i, null, e.getMessage());
+      }
+    }
+    List<Release> saved = repo.saveAll(releases);
+    statistics.created(ReleaseStatus.DRAFT, saved.size());
+    List<ReleaseAuditLog> entries = new ArrayList<>(saved.size());
+    for (int k = 0; k < saved.size(); k++) {
+      Release r = saved.get(k);
+      results[positions.get(k)] = new Result(offset + positions.get(k), r.getId(), null);
+      entries.add(AuditService.entry(r.getId(), "CREATED", createdBy, String.format("Title: %s", r.getTitle())));
+    }
+    auditService.logActions(entries);
+    return Arrays.asList(results);
+  }
+
+  // One row of a bulk transition: the status and version it was read in and its timestamp argument
+  private record Candidate(Long id, ReleaseStatus from, long version, Instant when, int slot) {
+    Candidate(ReleaseState state, Instant when) { this(state.id(), state.status(), state.version(), when, -1); }
+    Candidate at(int slot) { return new Candidate(id, from, version, when, slot); }
+  }
+
+  private interface CandidateFactory<T> {
+    Candidate of(T item, ReleaseState state);
+  }
+
+  /** Reads and locks the chunk's current states in one query and rejects what cannot transition. */
+  private <T> Result[] resolve(List<T> chunk, int offset, Function<T, Long> idOf,
+                               List<Candidate> candidates, CandidateFactory<T> factory) {
+    Set<Long> ids = chunk.stream().map(idOf).collect(Collectors.toSet());
+    Map<Long, ReleaseState> states = lockStates(ids).stream()
+        .collect(Collectors.toMap(ReleaseState::id, s -> s, (a, b) -> a, HashMap::new));
+    if (states.size() < ids.size()) {
+      // Archived releases are terminal; look them up so they are rejected with the right reason
+      archive.findStates(ids.stream().filter(id -> !states.containsKey(id)).toList())
+          .forEach(s -> states.put(s.id(), s));
+    }
+    Result[] results = new Result[chunk.size()];
+    for (int i = 0; i < chunk.size(); i++) {
+      Long id = idOf.apply(chunk.get(i));
+      ReleaseState state = states.get(id);
+      if (state == null) {
+        results[i] = new Result(offset + i, id, new ReleaseNotFoundException(id).getMessage());
+      } else if (state.status() == ReleaseStatus.EXECUTED) {
+        results[i] = new Result(offset + i, id, new ReleaseAlreadyExecutedException(id).getMessage());
+      } else if (state.status() == ReleaseStatus.CANCELLED) {
+        results[i] = new Result(offset + i, id, new ReleaseCancelledException(id).getMessage());
+      } else {
+        candidates.add(factory.of(chunk.get(i), state).at(offset + i));
+      }
+    }
+    return results;
+  }
+
+  private List<ReleaseState> lockStates(Collection<Long> ids) {
+    if (ids.isEmpty()) return List.of();
+    String sql = LOCK_STATES_SQL.formatted(String.join(",", Collections.nCopies(ids.size(), "?")));
+    return jdbc.query(sql, (rs, n) -> {
+      Timestamp scheduledAt = rs.getTimestamp("scheduled_at");
+      return new ReleaseState(rs.getLong("id"), ReleaseStatus.valueOf(rs.getString("status")),
+          scheduledAt != null ? scheduledAt.toInstant() : null, rs.getLong("version"));
+    }, ids.toArray());
+  }
+
+  private int[] batch(String sql, List<Candidate> candidates, ParameterizedPreparedStatementSetter<Candidate> setter) {
+    if (candidates.isEmpty()) return new int[0];
+    int[][] counts = jdbc.batchUpdate(sql, candidates, candidates.size(), setter);
+    return counts[0];
+  }
+
+  /**
+   * Records per-item outcomes and moves the counters; returns the rows that changed. Rows the
+   * driver reported no count for ({@code SUCCESS_NO_INFO}) are read again: they are still
+   * locked by this transaction, so only this batch can have moved their version on by one.
+   */
+  private List<Candidate> settle(List<Candidate> candidates, int[] updated, Result[] results, int offset,
+                                 ReleaseStatus to) {
+    boolean[] changed = new boolean[candidates.size()];
+    List<Integer> unknown = new ArrayList<>();
+    for (int k = 0; k < candidates.size(); k++) {
+      if (updated[k] == Statement.SUCCESS_NO_INFO) {
+        unknown.add(k);
+      } else {
+        changed[k] = updated[k] > 0;
+      }
+    }
+    if (!unknown.isEmpty()) {
+      Map<Long, ReleaseState> after = lockStates(unknown.stream().map(k -> candidates.get(k).id()).toList())
+          .stream().collect(Collectors.toMap(ReleaseState::id, s -> s));
+      Set<Long> credited = new HashSet<>(); // an id listed twice moved at most once
+      for (int k : unknown) {
+        Candidate c = candidates.get(k);
+        ReleaseState state = after.get(c.id());
+        changed[k] = state != null && state.status() == to && state.version() == c.version() + 1
+            && credited.add(c.id());
+      }
+    }
+
+    List<Candidate> done = new ArrayList<>();
+    Map<ReleaseStatus, Long> moved = new EnumMap<>(ReleaseStatus.class);
+    for (int k = 0; k < candidates.size(); k++) {
+      Candidate c = candidates.get(k);
+      int local = c.slot() - offset;
+      if (changed[k]) {
+        results[local] = new Result(c.slot(), c.id(), null);
+        done.add(c);
+        moved.merge(c.from(), 1L, Long::sum);
+      } else {
+        results[local] = new Result(c.slot(), c.id(), "Release " + c.id() + " was modified concurrently");
+      }
+    }
+    moved.forEach((from, n) -> statistics.transition(from, to, n));
+    invalidations.changed(done.stream().map(Candidate::id).toList());
+    return done;
+  }
+
+  private void audit(List<Candidate> done, String action, String performedBy, Function<Candidate, String> details) {
+    if (done.isEmpty()) return;
+    auditService.logActions(done.stream()
+        .map(c -> AuditService.entry(c.id(), action, performedBy, details.apply(c)))
+        .toList());
+  }
+
+  private interface ChunkOperation<T> {
+    List<Result> apply(List<T> chunk, int offset);
+  }
+
+  private interface FailedItem<T> {
+    Result of(T item, int index);
+  }
+
+  private <T> List<Result> chunked(List<T> items, ChunkOperation<T> operation, FailedItem<T> template) {
+    List<Result> results = new ArrayList<>(items.size());
+    for (int offset = 0; offset < items.size(); offset += CHUNK) {
+      List<T> chunk = items.subList(offset, Math.min(offset + CHUNK, items.size()));
+      int start = offset;
+      try {
+        results.addAll(tx.execute(status -> operation.apply(chunk, start)));
+      } catch (RuntimeException e) {
+        // The chunk rolled back as a whole: report every item in it, keep going with the next
+        log.error("Bulk chunk at {} failed: {}", start, e.getMessage(), e);
+        for (int i = 0; i < chunk.size(); i++) {
+          Result blank = template.of(chunk.get(i), start + i);
+          results.add(new Result(blank.index(), blank.id(), "Chunk failed: " + e.getMessage()));
+        }
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.timelock.release;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs auto-executions either inline ({@code serial}) or one virtual thread per release
+ * ({@code virtual}). Parallel runs are capped globally and per webhook target. A release
+ * waits for its target's slot before it takes a global one, so a target with a backlog only
+ * queues its own releases and never holds slots the other targets could use.
+ */
+@Component
+public class ReleaseExecutionPool {
+  private final boolean parallel;
+  private final Semaphore global;
+  private final int perTargetLimit;
+  private final ConcurrentHashMap<String, Semaphore> perTarget = new ConcurrentHashMap<>();
+  private final ExecutorService executor;
+
+  public ReleaseExecutionPool(@Value("${app.release.executor.mode:virtual}") String mode,
+                              @Value("${app.release.executor.max-concurrency:64}") int maxConcurrency,
+                              @Value("${app.release.executor.per-target-concurrency:8}") int perTargetConcurrency) {
+    this.parallel = "virtual".equalsIgnoreCase(mode);
+    this.global = new Semaphore(maxConcurrency);
+    this.perTargetLimit = perTargetConcurrency;
+    this.executor = parallel ? Executors.newVirtualThreadPerTaskExecutor() : null;
+  }
+
+  /**
+   * Runs {@code task} for the given target host. In serial mode it completes before
+   * returning; in virtual mode it never blocks the caller.
+   */
+  public CompletableFuture<Void> submit(String target, Runnable task) {
+    if (!parallel) {
+      task.run();
+      return CompletableFuture.completedFuture(null);
+    }
+    Semaphore slots = perTarget.computeIfAbsent(target == null ? "" : target, k -> new Semaphore(perTargetLimit));
+    return CompletableFuture.runAsync(() -> runLimited(slots, task), executor);
+  }
+
+  private void runLimited(Semaphore slots, Runnable task) {
+    try {
+      slots.acquire();
+      try {
+        global.acquire();
+        try {
+          task.run();
+        } finally {
+          global.release();
+        }
+      } finally {
+        slots.release();
+      }
+    } catch (InterruptedException e) {
+      // Shutting down: the lease expires and the release is picked up again
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    if (executor == null) return;
+    executor.shutdown();
+    executor.awaitTermination(30, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.timelock.release;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exposes the FULLTEXT index on {@code releases(title, description)} to JPQL and criteria
+ * queries as {@code fts_match(title, description, query)}, which renders to MySQL's
+ * {@code MATCH ... AGAINST (... IN BOOLEAN MODE)} and yields the relevance score
+ * (0 for non-matching rows). Registered through META-INF/services.
+ */
+public class ReleaseFullText implements FunctionContributor {
+  public static final String FUNCTION = "fts_match";
+
+  // InnoDB's default innodb_ft_min_token_size; shorter words are not in the index
+  private static final int MIN_TOKEN = 3;
+
+  @Override
+  public void contributeFunctions(FunctionContributions contributions) {
+    contributions.getFunctionRegistry().registerPattern(
+        FUNCTION,
+        "match(?1, ?2) against (?3 in boolean mode)",
+        contributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+  }
+
+  /**
+   * Turns user input into a boolean-mode query: every indexed word is required and
+   * prefix-matched ({@code +word*}) so results narrow as the user types. Operator
+   * characters are stripped. Returns {@code null} when nothing searchable is left.
+   */
+  public static String booleanQuery(String search) {
+    if (search == null) return null;
+    List<String> terms = new ArrayList<>();
+    for (String word : search.split("[^\\p{L}\\p{N}_]+")) {
+      if (word.length() >= MIN_TOKEN) {
+        terms.add("+" + word + "*");
+      }
+    }
+    return terms.isEmpty() ? null : String.join(" ", terms);
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.timelock.release;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Announces release changes to read caches. {@link #changed} appends to
+ * {@code release_invalidations} in the caller's transaction and publishes a
+ * {@link ReleasesChanged} event for this node; {@link #poll()} publishes the rows other
+ * nodes committed. Polling re-reads a short overlap window because AUTO_INCREMENT and
+ * timestamp order need not match commit order; evicting an entry twice is harmless.
+ */
+@Service
+public class ReleaseInvalidations {
+  private static final int PURGE_CHUNK = 5000;
+
+  private final JdbcTemplate jdbc;
+  private final ApplicationEventPublisher events;
+  private final long overlapMs;
+  private volatile Instant seenUntil;
+
+  public ReleaseInvalidations(JdbcTemplate jdbc,
+                              ApplicationEventPublisher events,
+                              @Value("${app.release.cache.invalidation-overlap-ms:5000}") long overlapMs) {
+    this.jdbc = jdbc;
+    this.events = events;
+    this.overlapMs = overlapMs;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void changed(Long id) {
+    changed(List.of(id));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void changed(Collection<Long> ids) {
+    if (ids.isEmpty()) return;
+    jdbc.batchUpdate("INSERT INTO release_invalidations (release_id) VALUES (?)", ids, ids.size(),
+        (ps, id) -> ps.setLong(1, id));
+    events.publishEvent(new ReleasesChanged(List.copyOf(ids)));
+  }
+
+  /**
+   * True once the first poll has set the watermark. Until then changes committed on other nodes
+   * are not followed, so read caches must not keep anything.
+   */
+  public boolean isWatching() {
+    return seenUntil != null;
+  }
+
+  @Scheduled(fixedDelayString = "${app.release.cache.invalidation-poll-ms:1000}")
+  public void poll() {
+    Instant now = jdbc.queryForObject("SELECT NOW(3)", Timestamp.class).toInstant();
+    if (seenUntil == null) {
+      // Caches keep nothing until now (see isWatching), so earlier changes cannot be stale in them
+      seenUntil = now;
+      return;
+    }
+    Set<Long> ids = new LinkedHashSet<>(jdbc.queryForList(
+        "SELECT release_id FROM release_invalidations WHERE created_at >= ?", Long.class,
+        Timestamp.from(seenUntil.minusMillis(overlapMs))));
+    seenUntil = now;
+    if (!ids.isEmpty()) {
+      events.publishEvent(new ReleasesChanged(ids));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.release.cache.invalidation-purge-ms:3600000}")
+  public void purge() {
+    Timestamp cutoff = Timestamp.from(Instant.now().minusSeconds(3600));
+    int removed;
+    do {
+      removed = jdbc.update("DELETE FROM release_invalidations WHERE created_at < ? LIMIT " + PURGE_CHUNK, cutoff);
+    } while (removed == PURGE_CHUNK);
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.timelock.release;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claim protocol for auto-execution when several replicas run the scheduler.
+ * A node only executes releases it holds an unexpired lease on; leases left behind
+ * by a crashed node simply expire and become claimable again.
+ */
+@Service
+public class ReleaseLeases {
+  private static final Logger log = LoggerFactory.getLogger(ReleaseLeases.class);
+  private final ReleaseRepository repo;
+  private final String nodeId;
+  private final long leaseMs;
+
+  public ReleaseLeases(ReleaseRepository repo,
+                       @Value("${app.release.node-id:}") String nodeId,
+                       @Value("${app.release.lease-ms:120000}") long leaseMs) {
+    this.repo = repo;
+    this.nodeId = nodeId == null || nodeId.isBlank()
+        ? ManagementFactory.getRuntimeMXBean().getName() // pid@hostname
+        : nodeId;
+    this.leaseMs = leaseMs;
+    log.info("Release scheduler node id: {}", this.nodeId);
+  }
+
+  public String nodeId() { return nodeId; }
+
+  /** Leases up to {@code limit} due releases no other node holds, oldest first. */
+  @Transactional
+  public List<Long> claimDue(int limit) {
+    Instant now = Instant.now();
+    List<Long> ids = repo.lockClaimable(now, limit);
+    if (!ids.isEmpty()) {
+      repo.lease(ids, nodeId, now.plusMillis(leaseMs));
+    }
+    return ids;
+  }
+
+  /** Leases a single APPROVED release, e.g. when the in-memory timer fires for it. */
+  @Transactional
+  public boolean claim(Long id) {
+    Instant now = Instant.now();
+    return repo.leaseOne(id, ReleaseStatus.APPROVED, nodeId, now, now.plusMillis(leaseMs)) == 1;
+  }
+}
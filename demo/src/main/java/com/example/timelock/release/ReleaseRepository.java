@@ -3,37 +3,138 @@ package com.example.timelock.release;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ReleaseRepository extends JpaRepository<Release, Long> {
+public interface ReleaseRepository extends JpaRepository<Release, Long>, JpaSpecificationExecutor<Release>,
+                                           ReleaseSummaryRepository {
   // For background job
   List<Release> findTop50ByStatusAndScheduledAtBeforeOrderByScheduledAtAsc(
       ReleaseStatus status, Instant before);
+
+  // For the in-memory release timer: everything of this status due before the horizon
+  @Query("SELECT new com.example.timelock.release.DueRelease(r.id, r.scheduledAt) FROM Release r " +
+         "WHERE r.status = :status AND r.scheduledAt < :before")
+  List<DueRelease> findDue(@Param("status") ReleaseStatus status, @Param("before") Instant before);
+
+  // Claim protocol: lock a batch of unleased (or expired) due rows, skipping rows other nodes hold
+  @Query(value = "SELECT id FROM releases WHERE status = 'APPROVED' AND scheduled_at <= :now " +
+                 "AND (lease_expires_at IS NULL OR lease_expires_at < :now) " +
+                 "ORDER BY scheduled_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<Long> lockClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+  @Modifying
+  @Query("UPDATE Release r SET r.leaseOwner = :owner, r.leaseExpiresAt = :until WHERE r.id IN :ids")
+  int lease(@Param("ids") List<Long> ids, @Param("owner") String owner, @Param("until") Instant until);
+
+  @Modifying
+  @Query("UPDATE Release r SET r.leaseOwner = :owner, r.leaseExpiresAt = :until " +
+         "WHERE r.id = :id AND r.status = :status " +
+         "AND (r.leaseExpiresAt IS NULL OR r.leaseExpiresAt < :now OR r.leaseOwner = :owner)")
+  int leaseOne(@Param("id") Long id, @Param("status") ReleaseStatus status, @Param("owner") String owner,
+               @Param("now") Instant now, @Param("until") Instant until);
   
+  // Per-target execution cap: releases without targets go to the global webhook URL
+  @Query("SELECT new com.example.timelock.release.ReleaseTarget(r.id, t) FROM Release r JOIN r.targets t " +
+         "WHERE r.id IN :ids AND INDEX(t) = 0")
+  List<ReleaseTarget> findFirstTargets(@Param("ids") Collection<Long> ids);
+
+  // Guarded transitions: one UPDATE that only applies while the row is in one of :from and still
+  // at the version the caller read. clearAutomatically detaches the caller's copy, which it then
+  // updates in memory instead of reading the row again.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Release r SET r.status = com.example.timelock.release.ReleaseStatus.SCHEDULED, " +
+         "r.scheduledAt = :when, r.version = r.version + 1 " +
+         "WHERE r.id = :id AND r.version = :version AND r.status IN :from")
+  int markScheduled(@Param("id") Long id, @Param("version") long version,
+                    @Param("from") Collection<ReleaseStatus> from, @Param("when") Instant when);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Release r SET r.status = com.example.timelock.release.ReleaseStatus.APPROVED, " +
+         "r.approvedBy = :approver, r.approvedAt = :now, r.version = r.version + 1 " +
+         "WHERE r.id = :id AND r.version = :version AND r.status IN :from")
+  int markApproved(@Param("id") Long id, @Param("version") long version,
+                   @Param("from") Collection<ReleaseStatus> from,
+                   @Param("approver") String approver, @Param("now") Instant now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Release r SET r.status = com.example.timelock.release.ReleaseStatus.CANCELLED, " +
+         "r.version = r.version + 1 WHERE r.id = :id AND r.version = :version AND r.status IN :from")
+  int markCancelled(@Param("id") Long id, @Param("version") long version,
+                    @Param("from") Collection<ReleaseStatus> from);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Release r SET r.status = com.example.timelock.release.ReleaseStatus.EXECUTED, " +
+         "r.executedAt = :now, r.leaseOwner = null, r.leaseExpiresAt = null, r.version = r.version + 1 " +
+         "WHERE r.id = :id AND r.status = com.example.timelock.release.ReleaseStatus.APPROVED " +
+         "AND r.scheduledAt <= :now")
+  int markExecuted(@Param("id") Long id, @Param("now") Instant now);
+
   // Search by title or description
   Page<Release> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
       String title, String description, Pageable pageable);
-  
+
+  // List views read ReleaseSummary projections: no payload, description cut short in SQL
+  String SUMMARY = "SELECT new com.example.timelock.release.ReleaseSummary(r.id, r.title, " +
+                   "SUBSTRING(r.description, 1, " + ReleaseSummary.DESCRIPTION_PREVIEW + "), r.status, r.scheduledAt, r.createdBy, r.createdAt, " +
+                   "r.approvedBy, r.approvedAt, r.executedAt) FROM Release r ";
+
+  @Transactional(readOnly = true)
+  @Query(value = SUMMARY,
+         countQuery = "SELECT COUNT(r) FROM Release r")
+  Page<ReleaseSummary> findSummaries(Pageable pageable);
+
   // Filter by status
   Page<Release> findByStatus(ReleaseStatus status, Pageable pageable);
+
+  @Transactional(readOnly = true)
+  @Query(value = SUMMARY + "WHERE r.status = :status",
+         countQuery = "SELECT COUNT(r) FROM Release r WHERE r.status = :status")
+  Page<ReleaseSummary> findSummariesByStatus(@Param("status") ReleaseStatus status, Pageable pageable);
   
-  // Filter by status and search
-  @Query("SELECT r FROM Release r WHERE r.status = :status " +
-         "AND (LOWER(r.title) LIKE LOWER(CONCAT('%', :search, '%')) " +
-         "OR LOWER(r.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-  Page<Release> findByStatusAndSearch(@Param("status") ReleaseStatus status, 
-                                       @Param("search") String search, 
-                                       Pageable pageable);
+  // Full-text search; :q is a boolean-mode query from ReleaseFullText.booleanQuery
+  @Transactional(readOnly = true)
+  @Query(value = SUMMARY + "WHERE r.status = :status AND fts_match(r.title, r.description, :q) > 0",
+         countQuery = "SELECT COUNT(r) FROM Release r WHERE r.status = :status " +
+                      "AND fts_match(r.title, r.description, :q) > 0")
+  Page<ReleaseSummary> findByStatusAndSearch(@Param("status") ReleaseStatus status, 
+                                              @Param("q") String q, 
+                                              Pageable pageable);
   
-  // Search only
-  @Query("SELECT r FROM Release r WHERE " +
-         "LOWER(r.title) LIKE LOWER(CONCAT('%', :search, '%')) " +
-         "OR LOWER(r.description) LIKE LOWER(CONCAT('%', :search, '%'))")
-  Page<Release> findBySearch(@Param("search") String search, Pageable pageable);
+  @Transactional(readOnly = true)
+  @Query(value = SUMMARY + "WHERE fts_match(r.title, r.description, :q) > 0",
+         countQuery = "SELECT COUNT(r) FROM Release r WHERE fts_match(r.title, r.description, :q) > 0")
+  Page<ReleaseSummary> findBySearch(@Param("q") String q, Pageable pageable);
+
+  // Best matches first; the pageable must be unsorted
+  @Transactional(readOnly = true)
+  @Query(value = SUMMARY + "WHERE (:status IS NULL OR r.status = :status) " +
+                 "AND fts_match(r.title, r.description, :q) > 0 " +
+                 "ORDER BY fts_match(r.title, r.description, :q) DESC, r.id DESC",
+         countQuery = "SELECT COUNT(r) FROM Release r WHERE (:status IS NULL OR r.status = :status) " +
+                      "AND fts_match(r.title, r.description, :q) > 0")
+  Page<ReleaseSummary> searchByRelevance(@Param("status") ReleaseStatus status, @Param("q") String q,
+                                         Pageable pageable);
+
+  // Inputs too short for the full-text index: title prefix, served by idx_releases_title_id
+  @Transactional(readOnly = true)
+  @Query(value = SUMMARY + "WHERE (:status IS NULL OR r.status = :status) " +
+                 "AND r.title LIKE CONCAT(:prefix, '%')",
+         countQuery = "SELECT COUNT(r) FROM Release r WHERE (:status IS NULL OR r.status = :status) " +
+                      "AND r.title LIKE CONCAT(:prefix, '%')")
+  Page<ReleaseSummary> findByTitlePrefix(@Param("status") ReleaseStatus status, @Param("prefix") String prefix,
+                                         Pageable pageable);
   
   // Count by status
   long countByStatus(ReleaseStatus status);
+
+  // Backlog gauge: due releases still waiting for auto-execution
+  long countByStatusAndScheduledAtBefore(ReleaseStatus status, Instant before);
 }
@@ -2,40 +2,70 @@ package com.example.timelock.release;
 
 import com.example.timelock.audit.AuditService;
 import com.example.timelock.exception.*;
+import com.example.timelock.payload.PayloadStore;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.example.timelock.execution.ReleaseActionClient;
+import com.example.timelock.execution.WebhookOutbox;
 
+import java.net.URI;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 
 @Service
 public class ReleaseService {
   private static final Logger log = LoggerFactory.getLogger(ReleaseService.class);
+  private static final int MAX_TRANSITION_ATTEMPTS = 3;
+  private static final Set<ReleaseStatus> OPEN =
+      EnumSet.of(ReleaseStatus.DRAFT, ReleaseStatus.SCHEDULED, ReleaseStatus.APPROVED);
   private final ReleaseRepository repo;
-  private final ReleaseActionClient releaseActionClient;
+  private final ReleaseArchiveRepository archive;
+  private final WebhookOutbox webhookOutbox;
   private final AuditService auditService;
+  private final ReleaseTimer timer;
+  private final ReleaseStatistics statistics;
+  private final PayloadStore payloads;
+  private final ReleaseInvalidations invalidations;
 
   public ReleaseService(ReleaseRepository repo,
-                        ReleaseActionClient releaseActionClient,
-                        AuditService auditService) {
+                        ReleaseArchiveRepository archive,
+                        WebhookOutbox webhookOutbox,
+                        AuditService auditService,
+                        ReleaseTimer timer,
+                        ReleaseStatistics statistics,
+                        PayloadStore payloads,
+                        ReleaseInvalidations invalidations) {
       this.repo = repo;
-      this.releaseActionClient = releaseActionClient;
+      this.archive = archive;
+      this.webhookOutbox = webhookOutbox;
       this.auditService = auditService;
+      this.timer = timer;
+      this.statistics = statistics;
+      this.payloads = payloads;
+      this.invalidations = invalidations;
   }
 
   @Transactional
-  public Release create(String title, String description, String payloadJson, String createdBy) {
+  public Release create(String title, String description, String payloadJson, List<String> targets,
+                        String createdBy) {
     log.info("Creating release: {} by {}", title, createdBy);
     var r = new Release();
     r.setTitle(title);
     r.setDescription(description);
-    r.setPayloadJson(payloadJson);
+    r.setPayload(payloads.intern(payloadJson));
+    r.setTargets(validTargets(targets));
     r.setCreatedBy(createdBy);
     r.setStatus(ReleaseStatus.DRAFT);
-    Release saved = repo.save(r);
+    Release saved = loaded(repo.save(r));
+    statistics.created(saved.getStatus());
     auditService.logAction(saved.getId(), "CREATED", createdBy, 
         String.format("Title: %s", title));
     log.info("Created release with id: {}", saved.getId());
@@ -45,111 +75,155 @@ public class ReleaseService {
   @Transactional
   public Release schedule(Long id, Instant when) {
     log.info("Scheduling release {} for {}", id, when);
-    var r = repo.findById(id)
-        .orElseThrow(() -> new ReleaseNotFoundException(id));
-    
-    if (r.getStatus() == ReleaseStatus.EXECUTED) {
-      throw new ReleaseAlreadyExecutedException(id);
-    }
-    if (r.getStatus() == ReleaseStatus.CANCELLED) {
-      throw new ReleaseCancelledException(id);
-    }
-    
-    r.setScheduledAt(when);
+    Release r = transition(id, held -> repo.markScheduled(id, held.getVersion(), OPEN, when));
+    ReleaseStatus previous = r.getStatus();
     r.setStatus(ReleaseStatus.SCHEDULED);
-    Release saved = repo.save(r);
+    r.setScheduledAt(when);
+    statistics.transition(previous, ReleaseStatus.SCHEDULED);
+    invalidations.changed(id);
+    timer.disarm(id); // back to SCHEDULED, needs a fresh approval before it can fire
     auditService.logAction(id, "SCHEDULED", "system", 
         String.format("Scheduled for: %s", when));
     log.info("Scheduled release {} for {}", id, when);
-    return saved;
+    return r;
   }
 
   @Transactional
   public Release approve(Long id, String approver) {
     log.info("Approving release {} by {}", id, approver);
-    var r = repo.findById(id)
-        .orElseThrow(() -> new ReleaseNotFoundException(id));
-    
-    if (r.getStatus() == ReleaseStatus.EXECUTED) {
-      throw new ReleaseAlreadyExecutedException(id);
-    }
-    if (r.getStatus() == ReleaseStatus.CANCELLED) {
-      throw new ReleaseCancelledException(id);
-    }
-    
-    r.setApprovedBy(approver);
-    r.setApprovedAt(Instant.now());
+    Instant now = Instant.now();
+    Release r = transition(id, held -> repo.markApproved(id, held.getVersion(), OPEN, approver, now));
+    ReleaseStatus previous = r.getStatus();
     r.setStatus(ReleaseStatus.APPROVED);
-    Release saved = repo.save(r);
+    r.setApprovedBy(approver);
+    r.setApprovedAt(now);
+    statistics.transition(previous, ReleaseStatus.APPROVED);
+    invalidations.changed(id);
+    timer.arm(id, r.getScheduledAt());
     auditService.logAction(id, "APPROVED", approver, null);
     log.info("Approved release {} by {}", id, approver);
-    return saved;
+    return r;
   }
 
   @Transactional
   public Release cancel(Long id, String cancelledBy) {
     log.info("Cancelling release {} by {}", id, cancelledBy);
-    var r = repo.findById(id)
-        .orElseThrow(() -> new ReleaseNotFoundException(id));
-    
-    if (r.getStatus() == ReleaseStatus.EXECUTED) {
-      throw new ReleaseAlreadyExecutedException(id);
-    }
-    if (r.getStatus() == ReleaseStatus.CANCELLED) {
-      throw new ReleaseCancelledException(id);
-    }
-    
+    Release r = transition(id, held -> repo.markCancelled(id, held.getVersion(), OPEN));
+    ReleaseStatus previous = r.getStatus();
     r.setStatus(ReleaseStatus.CANCELLED);
-    Release saved = repo.save(r);
+    statistics.transition(previous, ReleaseStatus.CANCELLED);
+    invalidations.changed(id);
+    timer.disarm(id);
     auditService.logAction(id, "CANCELLED", cancelledBy, null);
     log.info("Cancelled release {} by {}", id, cancelledBy);
-    return saved;
+    return r;
   }
 
   @Transactional
   public Release executeRelease(long id, String actorEmail) {
     log.info("Executing release {} by {}", id, actorEmail);
-    var r = repo.findById(id)
-        .orElseThrow(() -> new ReleaseNotFoundException(id));
+    if (repo.markExecuted(id, Instant.now()) == 0) {
+      throw executeRejected(id);
+    }
+    statistics.transition(ReleaseStatus.APPROVED, ReleaseStatus.EXECUTED);
+    invalidations.changed(id);
+    timer.disarm(id);
     
+    auditService.logAction(id, "EXECUTED", actorEmail != null ? actorEmail : "system", null);
+
+    // Delivered after commit by WebhookOutboxDispatcher; never holds this transaction open
+    Release saved = findById(id);
+    webhookOutbox.enqueue(saved.getId(), saved.getTitle(), saved.getPayloadJson(), saved.getTargets());
+
+    log.info("Successfully executed release {}", id);
+    return saved;
+  }
+
+  /**
+   * Reads the release once and runs a guarded UPDATE against the version it read, so the
+   * status it held is the status the row left. Returns that (now detached) copy for the caller
+   * to bring up to date in memory. Only a change landing between the read and the UPDATE
+   * costs another read.
+   */
+  private Release transition(Long id, ToIntFunction<Release> update) {
+    for (int attempt = 0; attempt < MAX_TRANSITION_ATTEMPTS; attempt++) {
+      Release held = findById(id);
+      if (held.getStatus() == ReleaseStatus.EXECUTED) {
+        throw new ReleaseAlreadyExecutedException(id);
+      }
+      if (held.getStatus() == ReleaseStatus.CANCELLED) {
+        throw new ReleaseCancelledException(id);
+      }
+      if (update.applyAsInt(held) == 1) {
+        held.advanceVersion();
+        return held;
+      }
+    }
+    throw new OptimisticLockingFailureException("Release " + id + " is being modified concurrently");
+  }
+
+  // Only reached when the guarded UPDATE matched nothing, so this read is off the happy path
+  private RuntimeException executeRejected(long id) {
+    var r = findById(id);
     if (r.getStatus() == ReleaseStatus.EXECUTED) {
-      throw new ReleaseAlreadyExecutedException(id);
+      return new ReleaseAlreadyExecutedException(id);
     }
     if (r.getStatus() == ReleaseStatus.CANCELLED) {
-      throw new ReleaseCancelledException(id);
+      return new ReleaseCancelledException(id);
     }
     if (r.getStatus() != ReleaseStatus.APPROVED) {
-      throw new ReleaseNotApprovedException(id);
+      return new ReleaseNotApprovedException(id);
     }
     if (r.getScheduledAt() == null) {
-      throw new ReleaseNotScheduledException(id);
+      return new ReleaseNotScheduledException(id);
     }
     if (Instant.now().isBefore(r.getScheduledAt())) {
-      throw new ReleaseExecutionTooEarlyException(id, r.getScheduledAt());
-    }
-    
-    r.setStatus(ReleaseStatus.EXECUTED);
-    r.setExecutedAt(Instant.now());
-    Release saved = repo.save(r);
-    
-    auditService.logAction(id, "EXECUTED", actorEmail != null ? actorEmail : "system", null);
-
-    try {
-        log.info("Triggering webhook for release {}", id);
-        releaseActionClient.trigger(r.getId(), r.getTitle(), r.getPayloadJson());
-        log.info("Webhook triggered successfully for release {}", id);
-    } 
-    catch (Exception e) {
-        log.error("Webhook call failed for release {}: {}", id, e.getMessage(), e);
-        // Don't fail the execution if webhook fails
+      return new ReleaseExecutionTooEarlyException(id, r.getScheduledAt());
     }
-
-    log.info("Successfully executed release {}", id);
-    return saved;
+    return new OptimisticLockingFailureException("Release " + id + " was modified concurrently");
   }
 
+  /** Falls back to the archive for old EXECUTED/CANCELLED releases (see ReleaseArchiver). */
+  @Transactional(readOnly = true)
   public Release findById(Long id) {
     return repo.findById(id)
+        .or(() -> archive.findById(id).map(ArchivedRelease::toRelease))
+        .map(ReleaseService::loaded)
         .orElseThrow(() -> new ReleaseNotFoundException(id));
   }
+
+  /**
+   * {@link #findById} on the primary. A read-write transaction never routes to a replica, so
+   * what this returns is never older than a change that has already committed.
+   */
+  @Transactional
+  public Release findLatest(Long id) {
+    return findById(id);
+  }
+
+  // Open-in-view is off: resolve the lazy parts the API returns while the session is still open
+  private static Release loaded(Release r) {
+    Hibernate.initialize(r.getPayload());
+    Hibernate.initialize(r.getTargets());
+    return r;
+  }
+
+  static List<String> validTargets(List<String> targets) {
+    List<String> valid = new ArrayList<>();
+    if (targets == null) return valid;
+    for (String t : targets) {
+      URI uri;
+      try {
+        uri = URI.create(t.trim());
+      } catch (IllegalArgumentException | NullPointerException e) {
+        throw new IllegalArgumentException("Invalid webhook target: " + t);
+      }
+      if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())
+          || uri.getHost() == null) {
+        throw new IllegalArgumentException("Webhook target must be an absolute http(s) URL: " + t);
+      }
+      if (!valid.contains(uri.toString())) valid.add(uri.toString());
+    }
+    return valid;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.timelock.release;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/** Filters shared by the release list queries; {@code null} arguments match everything. */
+public final class ReleaseSpecifications {
+  private ReleaseSpecifications() {}
+
+  public static Specification<Release> hasStatus(ReleaseStatus status) {
+    return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+  }
+
+  /** Full-text match, or a title prefix when the input is too short to be indexed. */
+  public static Specification<Release> matches(String search) {
+    return (root, query, cb) -> {
+      if (search == null || search.isBlank()) return null;
+      String q = ReleaseFullText.booleanQuery(search);
+      if (q == null) {
+        return cb.like(root.get("title"), titlePrefix(search) + "%");
+      }
+      return cb.gt(cb.function(ReleaseFullText.FUNCTION, Double.class,
+          root.get("title"), root.get("description"), cb.literal(q)), 0);
+    };
+  }
+
+  /** Search input as a LIKE prefix, with wildcards removed. */
+  public static String titlePrefix(String search) {
+    return search.trim().replaceAll("[%_]", "");
+  }
+}
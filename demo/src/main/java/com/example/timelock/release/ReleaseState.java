@@ -0,0 +1,5 @@
+package com.example.timelock.release;
+
+import java.time.Instant;
+
+public record ReleaseState(Long id, ReleaseStatus status, Instant scheduledAt, long version) {}
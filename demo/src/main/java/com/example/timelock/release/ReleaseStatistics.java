@@ -0,0 +1,102 @@
+package com.example.timelock.release;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Release counts per status, kept in {@code release_status_counts} instead of being
+ * counted on every read. {@link ReleaseService} records each status change in the same
+ * transaction as the change itself, so the counters commit or roll back with it;
+ * {@link #reconcile()} periodically corrects drift (manual SQL, restored backups) from a
+ * single GROUP BY.
+ */
+@Service
+public class ReleaseStatistics {
+  private static final Logger log = LoggerFactory.getLogger(ReleaseStatistics.class);
+  private static final int SHARDS = 8;
+
+  private final ReleaseStatusCountRepository counts;
+
+  public ReleaseStatistics(ReleaseStatusCountRepository counts) {
+    this.counts = counts;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void created(ReleaseStatus status) {
+    created(status, 1);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void created(ReleaseStatus status, long n) {
+    if (n == 0) return;
+    counts.add(status.name(), shard(), n);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void transition(ReleaseStatus from, ReleaseStatus to) {
+    transition(from, to, 1);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void transition(ReleaseStatus from, ReleaseStatus to, long n) {
+    if (from == to || n == 0) return;
+    int shard = shard();
+    // Same lock order as reconcile() (status name, then shard) so the two never deadlock
+    if (from.name().compareTo(to.name()) < 0) {
+      counts.add(from.name(), shard, -n);
+      counts.add(to.name(), shard, n);
+    } else {
+      counts.add(to.name(), shard, n);
+      counts.add(from.name(), shard, -n);
+    }
+  }
+
+  /** Current count of every status (zero for statuses without releases). */
+  @Transactional(readOnly = true)
+  public Map<ReleaseStatus, Long> byStatus() {
+    Map<ReleaseStatus, Long> result = zeroes();
+    for (Object[] row : counts.sums()) {
+      result.put(ReleaseStatus.valueOf((String) row[0]), ((Number) row[1]).longValue());
+    }
+    return result;
+  }
+
+  @Scheduled(initialDelayString = "${app.release.stats.reconcile-ms:300000}",
+             fixedDelayString = "${app.release.stats.reconcile-ms:300000}")
+  @Transactional
+  public void reconcile() {
+    // Lock the counters first: transitions that have not touched them yet wait for us and
+    // are not in the snapshot the GROUP BY below reads, so their deltas still apply after
+    counts.lockAll();
+    Map<ReleaseStatus, Long> actual = zeroes();
+    for (Object[] row : counts.actual()) {
+      actual.put(ReleaseStatus.valueOf((String) row[0]), ((Number) row[1]).longValue());
+    }
+    Map<ReleaseStatus, Long> recorded = byStatus();
+    if (recorded.equals(actual)) return;
+
+    log.warn("Release statistics drifted, correcting {} -> {}", recorded, actual);
+    counts.clearShards();
+    for (Map.Entry<ReleaseStatus, Long> e : actual.entrySet()) {
+      counts.set(e.getKey().name(), e.getValue());
+    }
+  }
+
+  private static Map<ReleaseStatus, Long> zeroes() {
+    Map<ReleaseStatus, Long> result = new EnumMap<>(ReleaseStatus.class);
+    for (ReleaseStatus s : ReleaseStatus.values()) result.put(s, 0L);
+    return result;
+  }
+
+  private static int shard() {
+    return ThreadLocalRandom.current().nextInt(SHARDS);
+  }
+}
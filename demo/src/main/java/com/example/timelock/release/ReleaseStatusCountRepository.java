@@ -0,0 +1,42 @@
+package com.example.timelock.release;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+// Native access to release_status_counts; the table has no entity of its own
+public interface ReleaseStatusCountRepository extends Repository<Release, Long> {
+
+  @Modifying
+  @Query(value = "INSERT INTO release_status_counts (status, shard, count) VALUES (:status, :shard, :delta) " +
+                 "ON DUPLICATE KEY UPDATE count = count + :delta", nativeQuery = true)
+  int add(@Param("status") String status, @Param("shard") int shard, @Param("delta") long delta);
+
+  @Query(value = "SELECT status, SUM(count) FROM release_status_counts GROUP BY status", nativeQuery = true)
+  List<Object[]> sums();
+
+  // Blocks transitions until the reconciling transaction commits
+  @Query(value = "SELECT status, shard FROM release_status_counts ORDER BY status, shard FOR UPDATE",
+         nativeQuery = true)
+  List<Object[]> lockAll();
+
+  // Archived releases still count; their numbers are kept by ReleaseArchiver
+  @Query(value = "SELECT status, SUM(n) FROM (" +
+                 "SELECT status, COUNT(*) AS n FROM releases GROUP BY status " +
+                 "UNION ALL SELECT status, count FROM release_archive_counts) t GROUP BY status",
+         nativeQuery = true)
+  List<Object[]> actual();
+
+  @Modifying
+  @Query(value = "UPDATE release_status_counts SET count = 0 WHERE shard <> 0", nativeQuery = true)
+  int clearShards();
+
+  // Reconciliation keeps the whole count on shard 0
+  @Modifying
+  @Query(value = "INSERT INTO release_status_counts (status, shard, count) VALUES (:status, 0, :count) " +
+                 "ON DUPLICATE KEY UPDATE count = :count", nativeQuery = true)
+  int set(@Param("status") String status, @Param("count") long count);
+}
@@ -0,0 +1,23 @@
+package com.example.timelock.release;
+
+import java.time.Instant;
+
+/**
+ * Read-only row of the release list: everything but the payload and targets, with the
+ * description cut to {@value #DESCRIPTION_PREVIEW} characters in SQL so the full TEXT
+ * values never leave MySQL. The full release is served by {@code GET /releases/{id}}.
+ */
+public record ReleaseSummary(
+    Long id,
+    String title,
+    String description,
+    ReleaseStatus status,
+    Instant scheduledAt,
+    String createdBy,
+    Instant createdAt,
+    String approvedBy,
+    Instant approvedAt,
+    Instant executedAt
+) {
+  public static final int DESCRIPTION_PREVIEW = 200;
+}
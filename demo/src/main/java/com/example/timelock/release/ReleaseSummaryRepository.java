@@ -0,0 +1,16 @@
+package com.example.timelock.release;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/** Keyset queries over {@link ReleaseSummary} projections; see {@link ReleaseSummaryRepositoryImpl}. */
+public interface ReleaseSummaryRepository {
+
+  /**
+   * Up to {@code limit} summaries matching {@code filter}, ordered by {@code key} then id,
+   * strictly after ({@code afterValue}, {@code afterId}) when those are given.
+   */
+  List<ReleaseSummary> scrollSummaries(Specification<Release> filter, String key, boolean ascending,
+                                       Comparable<?> afterValue, Long afterId, int limit);
+}
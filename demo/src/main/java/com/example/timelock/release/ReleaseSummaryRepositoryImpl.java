@@ -0,0 +1,62 @@
+package com.example.timelock.release;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Transactional(readOnly = true)
+class ReleaseSummaryRepositoryImpl implements ReleaseSummaryRepository {
+
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public List<ReleaseSummary> scrollSummaries(Specification<Release> filter, String key, boolean ascending,
+                                              Comparable<?> afterValue, Long afterId, int limit) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<ReleaseSummary> query = cb.createQuery(ReleaseSummary.class);
+    Root<Release> r = query.from(Release.class);
+    query.select(cb.construct(ReleaseSummary.class,
+        r.get("id"), r.get("title"),
+        cb.substring(r.get("description"), 1, ReleaseSummary.DESCRIPTION_PREVIEW),
+        r.get("status"), r.get("scheduledAt"), r.get("createdBy"), r.get("createdAt"),
+        r.get("approvedBy"), r.get("approvedAt"), r.get("executedAt")));
+
+    List<Predicate> where = new ArrayList<>();
+    Predicate filtered = filter != null ? filter.toPredicate(r, query, cb) : null;
+    if (filtered != null) where.add(filtered);
+
+    Expression<Long> id = r.get("id");
+    if (afterId != null) {
+      // (key, id) strictly past the cursor, in the direction of the sort
+      Predicate idPast = ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+      if (key.equals("id")) {
+        where.add(idPast);
+      } else {
+        Expression<Comparable> k = r.get(key);
+        Comparable value = afterValue;
+        Predicate keyPast = ascending ? cb.greaterThan(k, value) : cb.lessThan(k, value);
+        where.add(cb.or(keyPast, cb.and(cb.equal(k, value), idPast)));
+      }
+    }
+    query.where(where.toArray(new Predicate[0]));
+
+    List<Order> order = new ArrayList<>();
+    if (!key.equals("id")) order.add(ascending ? cb.asc(r.get(key)) : cb.desc(r.get(key)));
+    order.add(ascending ? cb.asc(id) : cb.desc(id));
+    query.orderBy(order);
+
+    return em.createQuery(query).setMaxResults(limit).getResultList();
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.timelock.release;
+
+/** First webhook target of a release, used to bucket its execution in {@link ReleaseExecutionPool}. */
+public record ReleaseTarget(Long releaseId, String url) {}
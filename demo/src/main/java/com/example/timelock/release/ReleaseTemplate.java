@@ -1,5 +1,6 @@
 package com.example.timelock.release;
 
+import com.example.timelock.payload.StoredPayload;
 import jakarta.persistence.*;
 import java.time.Instant;
 
@@ -26,8 +27,9 @@ public class ReleaseTemplate {
   @Column(columnDefinition = "TEXT")
   private String defaultDescription;
 
-  @Column(columnDefinition = "TEXT")
-  private String defaultPayloadJson;
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "default_payload_hash")
+  private StoredPayload defaultPayload;
 
   @Column(nullable = false)
   private String createdBy;
@@ -53,8 +55,9 @@ public class ReleaseTemplate {
   public String getDefaultDescription() { return defaultDescription; }
   public void setDefaultDescription(String defaultDescription) { this.defaultDescription = defaultDescription; }
 
-  public String getDefaultPayloadJson() { return defaultPayloadJson; }
-  public void setDefaultPayloadJson(String defaultPayloadJson) { this.defaultPayloadJson = defaultPayloadJson; }
+  public String getDefaultPayloadJson() { return defaultPayload != null ? defaultPayload.text() : null; }
+  public StoredPayload getDefaultPayload() { return defaultPayload; }
+  public void setDefaultPayload(StoredPayload defaultPayload) { this.defaultPayload = defaultPayload; }
 
   public String getCreatedBy() { return createdBy; }
   public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
@@ -0,0 +1,110 @@
+package com.example.timelock.release;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory delay queue of APPROVED releases that fall due within the arming horizon.
+ * ReleaseService arms and disarms entries on every transition (after commit), and
+ * DueExecutor rebuilds it from the releases table at startup and on a slow refresh.
+ * The database stays the source of truth: a fired entry is only a hint to run
+ * executeRelease, which re-checks everything.
+ */
+@Component
+public class ReleaseTimer {
+  private final DelayQueue<Entry> queue = new DelayQueue<>();
+  // Latest fire time per release; queue entries that no longer match are stale and skipped.
+  private final ConcurrentHashMap<Long, Instant> armed = new ConcurrentHashMap<>();
+  private final boolean enabled;
+  private final long horizonMs;
+
+  public ReleaseTimer(@Value("${app.release.scheduler.mode:timer}") String mode,
+                      @Value("${app.release.scheduler.horizon-ms:600000}") long horizonMs) {
+    this.enabled = "timer".equalsIgnoreCase(mode);
+    this.horizonMs = horizonMs;
+  }
+
+  public boolean isEnabled() { return enabled; }
+
+  /** Upper bound of the window kept in memory; later releases are picked up by a refresh. */
+  public Instant horizon() {
+    return Instant.now().plusMillis(horizonMs);
+  }
+
+  public void arm(Long id, Instant fireAt) {
+    if (!enabled || fireAt == null) return;
+    afterCommit(() -> put(id, fireAt));
+  }
+
+  public void disarm(Long id) {
+    if (!enabled) return;
+    afterCommit(() -> armed.remove(id));
+  }
+
+  /** Bulk (re)arm from a database snapshot; entries already armed for the same instant are left alone. */
+  public void armAll(Collection<DueRelease> due) {
+    if (!enabled) return;
+    for (var d : due) {
+      put(d.id(), d.scheduledAt());
+    }
+  }
+
+  /**
+   * Blocks until the next armed release is due and returns its id, or returns null
+   * when nothing fell due within {@code maxWaitMs}.
+   */
+  public Long take(long maxWaitMs) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+    while (true) {
+      long remaining = deadline - System.nanoTime();
+      Entry e = queue.poll(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+      if (e == null) return null;
+      if (armed.remove(e.id, e.fireAt)) return e.id;
+    }
+  }
+
+  public int size() { return armed.size(); }
+
+  private void put(Long id, Instant fireAt) {
+    if (fireAt.isAfter(horizon())) {
+      armed.remove(id);
+      return;
+    }
+    Instant previous = armed.put(id, fireAt);
+    if (!fireAt.equals(previous)) {
+      queue.add(new Entry(id, fireAt));
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() { action.run(); }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private record Entry(Long id, Instant fireAt) implements Delayed {
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(fireAt.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return fireAt.compareTo(((Entry) other).fireAt);
+    }
+  }
+}
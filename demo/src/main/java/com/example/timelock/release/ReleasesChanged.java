@@ -0,0 +1,9 @@
+package com.example.timelock.release;
+
+import java.util.Collection;
+
+/**
+ * Published when releases changed, either by this node (inside the changing transaction)
+ * or by another node (picked up from the invalidation log, outside any transaction).
+ */
+public record ReleasesChanged(Collection<Long> ids) {}
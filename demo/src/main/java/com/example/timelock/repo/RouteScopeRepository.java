@@ -2,5 +2,13 @@ package com.example.timelock.repo;
 
 import com.example.timelock.entity.RouteScope;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface RouteScopeRepository extends JpaRepository<RouteScope, Long> {}
+public interface RouteScopeRepository extends JpaRepository<RouteScope, Long> {
+  boolean existsByMethodAndRoutePattern(String method, String routePattern);
+
+  // Changes whenever a row is added, removed or edited; compared before reloading all routes
+  @Query(value = "SELECT CONCAT(COUNT(*), ':', COALESCE(SUM(CRC32(CONCAT_WS('|', id, method, route_pattern, " +
+                 "required_role))), 0)) FROM route_scopes", nativeQuery = true)
+  String stamp();
+}
@@ -0,0 +1,7 @@
+-- Keyset pagination on the release list: one index per supported sort key, with and without
+-- the status filter, ending in id so "(key, id) < (?, ?)" is a single index range scan
+ALTER TABLE releases
+  ADD INDEX idx_releases_created_id (created_at, id),
+  ADD INDEX idx_releases_status_created_id (status, created_at, id),
+  ADD INDEX idx_releases_title_id (title, id),
+  ADD INDEX idx_releases_status_title_id (status, title, id);
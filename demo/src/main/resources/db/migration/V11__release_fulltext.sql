@@ -0,0 +1,3 @@
+-- Indexed search over title/description; MATCH() must name exactly these columns
+ALTER TABLE releases
+  ADD FULLTEXT INDEX ft_releases_title_description (title, description);
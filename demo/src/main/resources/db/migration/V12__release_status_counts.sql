@@ -0,0 +1,11 @@
+-- Per-status release counters, maintained in the transaction of every status change.
+-- Each status is split over a few shard rows so concurrent transitions rarely wait on one row lock.
+CREATE TABLE IF NOT EXISTS release_status_counts (
+  status VARCHAR(32) NOT NULL,
+  shard TINYINT NOT NULL,
+  count BIGINT NOT NULL,
+  PRIMARY KEY (status, shard)
+);
+
+INSERT INTO release_status_counts (status, shard, count)
+  SELECT status, 0, COUNT(*) FROM releases GROUP BY status;
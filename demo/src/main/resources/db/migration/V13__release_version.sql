@@ -0,0 +1,3 @@
+-- Optimistic locking: bumped by every JPA update and every guarded status transition
+ALTER TABLE releases
+  ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Pooled id allocation (Hibernate table generator) so release and audit inserts can be
+-- JDBC-batched; IDENTITY forces one round trip per row. Seeded clear of existing ids.
+CREATE TABLE IF NOT EXISTS id_sequences (
+  sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+  SELECT 'releases', COALESCE(MAX(id), 0) + 1000 FROM releases;
+INSERT INTO id_sequences (sequence_name, next_val)
+  SELECT 'release_audit_log', COALESCE(MAX(id), 0) + 1000 FROM release_audit_log;
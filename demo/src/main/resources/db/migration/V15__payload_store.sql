@@ -0,0 +1,38 @@
+-- Content-addressed payload storage. Release payloads, template payloads and large audit
+-- details live here instead of inline TEXT, so list/scan queries never read them and
+-- identical content is stored once. hash is SHA-256 of the uncompressed UTF-8 text.
+CREATE TABLE IF NOT EXISTS payloads (
+  hash CHAR(64) CHARACTER SET ascii NOT NULL PRIMARY KEY,
+  codec VARCHAR(16) NOT NULL,        -- NONE or DEFLATE
+  size INT NOT NULL,                 -- uncompressed bytes
+  data LONGBLOB NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+-- Existing rows move over uncompressed; new writes are compressed by the application
+INSERT IGNORE INTO payloads (hash, codec, size, data)
+  SELECT SHA2(payload_json, 256), 'NONE', LENGTH(payload_json), CAST(payload_json AS BINARY)
+  FROM releases WHERE payload_json IS NOT NULL;
+INSERT IGNORE INTO payloads (hash, codec, size, data)
+  SELECT SHA2(default_payload_json, 256), 'NONE', LENGTH(default_payload_json), CAST(default_payload_json AS BINARY)
+  FROM release_templates WHERE default_payload_json IS NOT NULL;
+INSERT IGNORE INTO payloads (hash, codec, size, data)
+  SELECT SHA2(details, 256), 'NONE', LENGTH(details), CAST(details AS BINARY)
+  FROM release_audit_log WHERE CHAR_LENGTH(details) > 512;
+
+ALTER TABLE releases ADD COLUMN payload_hash CHAR(64) CHARACTER SET ascii NULL,
+  ADD CONSTRAINT fk_releases_payload FOREIGN KEY (payload_hash) REFERENCES payloads (hash);
+UPDATE releases SET payload_hash = SHA2(payload_json, 256) WHERE payload_json IS NOT NULL;
+ALTER TABLE releases DROP COLUMN payload_json;
+
+ALTER TABLE release_templates ADD COLUMN default_payload_hash CHAR(64) CHARACTER SET ascii NULL,
+  ADD CONSTRAINT fk_release_templates_payload FOREIGN KEY (default_payload_hash) REFERENCES payloads (hash);
+UPDATE release_templates SET default_payload_hash = SHA2(default_payload_json, 256)
+  WHERE default_payload_json IS NOT NULL;
+ALTER TABLE release_templates DROP COLUMN default_payload_json;
+
+-- Short audit details (the common case) stay inline; only large ones move out of the row
+ALTER TABLE release_audit_log ADD COLUMN details_hash CHAR(64) CHARACTER SET ascii NULL,
+  ADD CONSTRAINT fk_release_audit_log_details FOREIGN KEY (details_hash) REFERENCES payloads (hash);
+UPDATE release_audit_log SET details_hash = SHA2(details, 256), details = NULL
+  WHERE CHAR_LENGTH(details) > 512;
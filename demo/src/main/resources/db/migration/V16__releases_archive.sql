@@ -0,0 +1,32 @@
+-- Cold store for EXECUTED/CANCELLED releases past the retention window (ReleaseArchiver).
+-- Range-partitioned by month of created_at; ReleaseArchiver adds partitions ahead of time
+-- by splitting p_max. Partitioned tables take no foreign keys, and the partitioning column
+-- has to be part of the primary key.
+CREATE TABLE IF NOT EXISTS releases_archive (
+  id BIGINT NOT NULL,
+  title VARCHAR(255) NOT NULL,
+  description TEXT NULL,
+  payload_hash CHAR(64) CHARACTER SET ascii NULL,
+  status VARCHAR(32) NOT NULL,
+  scheduled_at TIMESTAMP NULL,
+  created_by VARCHAR(255) NOT NULL,
+  created_at TIMESTAMP NOT NULL,
+  approved_by VARCHAR(255) NULL,
+  approved_at TIMESTAMP NULL,
+  executed_at TIMESTAMP NULL,
+  version BIGINT NOT NULL,
+  archived_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (id, created_at)
+)
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+  PARTITION p_old VALUES LESS THAN (1790812800),    -- before 2026-10-01 UTC
+  PARTITION p202610 VALUES LESS THAN (1793491200),  -- before 2026-11-01 UTC
+  PARTITION p_max VALUES LESS THAN MAXVALUE
+);
+
+-- How many releases of each status live in the archive, so counter reconciliation never
+-- has to count the archive itself
+CREATE TABLE IF NOT EXISTS release_archive_counts (
+  status VARCHAR(32) NOT NULL PRIMARY KEY,
+  count BIGINT NOT NULL
+);
@@ -0,0 +1,9 @@
+-- Invalidation log for per-node release caches: every committed status change appends the
+-- release id, and each node polls for rows newer than what it has seen. Rows only need to
+-- outlive the polling interval and are purged after an hour.
+CREATE TABLE IF NOT EXISTS release_invalidations (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  release_id BIGINT NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  INDEX idx_release_invalidations_created (created_at)
+);
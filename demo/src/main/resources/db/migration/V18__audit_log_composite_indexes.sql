@@ -0,0 +1,8 @@
+-- Seek-paged audit queries: each filter column followed by the (performed_at, id) sort key,
+-- so a page is one index range read in order, with no filesort and no offset.
+-- idx_release_id is a prefix of the new per-release index and goes away.
+ALTER TABLE release_audit_log
+  ADD INDEX idx_audit_release_time (release_id, performed_at, id),
+  ADD INDEX idx_audit_actor_time (performed_by, performed_at, id),
+  ADD INDEX idx_audit_action_time (action, performed_at, id),
+  DROP INDEX idx_release_id;
@@ -0,0 +1,21 @@
+-- Monthly range partitions on performed_at, so retention is a DROP PARTITION instead of a
+-- row-by-row DELETE (AuditRetention). Partitioned tables take no foreign keys, and the
+-- partitioning column has to be part of the primary key. Rebuilds the table once.
+ALTER TABLE release_audit_log DROP FOREIGN KEY fk_release_audit_log_details;
+ALTER TABLE release_audit_log DROP PRIMARY KEY, ADD PRIMARY KEY (id, performed_at);
+ALTER TABLE release_audit_log
+PARTITION BY RANGE (UNIX_TIMESTAMP(performed_at)) (
+  PARTITION p_old VALUES LESS THAN (1790812800),    -- before 2026-10-01 UTC
+  PARTITION p202610 VALUES LESS THAN (1793491200),  -- before 2026-11-01 UTC
+  PARTITION p_max VALUES LESS THAN MAXVALUE
+);
+
+-- What is left of a month once its partition is dropped: entries per UTC day and action
+CREATE TABLE IF NOT EXISTS release_audit_daily (
+  day DATE NOT NULL,
+  action VARCHAR(32) NOT NULL,
+  entries BIGINT NOT NULL,
+  actors INT NOT NULL,           -- distinct performed_by
+  releases INT NOT NULL,         -- distinct release_id
+  PRIMARY KEY (day, action)
+);
@@ -0,0 +1,4 @@
+-- Lease columns so multiple scheduler nodes claim disjoint due releases
+ALTER TABLE releases
+  ADD COLUMN lease_owner VARCHAR(128) NULL,
+  ADD COLUMN lease_expires_at TIMESTAMP(3) NULL;
@@ -0,0 +1,19 @@
+-- Transactional outbox for webhook deliveries, written together with the EXECUTED transition
+CREATE TABLE IF NOT EXISTS webhook_outbox (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  release_id BIGINT NOT NULL,
+  target_url VARCHAR(1024) NOT NULL,
+  dedup_key VARCHAR(255) NOT NULL,
+  title VARCHAR(255) NULL,
+  payload_json TEXT NULL,
+  status VARCHAR(16) NOT NULL,          -- PENDING, DELIVERED, FAILED
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP(3) NOT NULL,
+  last_status_code INT NULL,
+  last_error VARCHAR(1024) NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  delivered_at TIMESTAMP NULL,
+  UNIQUE KEY uk_outbox_dedup (dedup_key),
+  INDEX idx_outbox_status_next (status, next_attempt_at),
+  INDEX idx_outbox_release (release_id)
+);
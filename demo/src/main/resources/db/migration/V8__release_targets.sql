@@ -0,0 +1,7 @@
+-- Per-release webhook targets; releases without rows fall back to app.release.webhook-url
+CREATE TABLE IF NOT EXISTS release_targets (
+  release_id BIGINT NOT NULL,
+  position INT NOT NULL,
+  url VARCHAR(1024) NOT NULL,
+  PRIMARY KEY (release_id, position)
+);
@@ -0,0 +1,16 @@
+-- Deliveries that exhausted their attempts; the outbox row (FAILED) keeps the payload for replay
+CREATE TABLE IF NOT EXISTS webhook_dead_letters (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  outbox_id BIGINT NOT NULL,
+  release_id BIGINT NOT NULL,
+  target_url VARCHAR(1024) NOT NULL,
+  error_class VARCHAR(255) NOT NULL,
+  last_status_code INT NULL,
+  last_error VARCHAR(1024) NULL,
+  attempts INT NOT NULL,
+  failed_at TIMESTAMP(3) NOT NULL,
+  UNIQUE KEY uk_dead_letter_outbox (outbox_id),
+  INDEX idx_dead_letter_failed (failed_at),
+  INDEX idx_dead_letter_target (target_url(255), failed_at),
+  INDEX idx_dead_letter_error (error_class, failed_at)
+);
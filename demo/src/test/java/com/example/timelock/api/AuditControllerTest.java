@@ -0,0 +1,121 @@
+package com.example.timelock.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.timelock.api.dto.AuditLogDto;
+import com.example.timelock.audit.AuditExporter;
+import com.example.timelock.audit.AuditSearch;
+import com.example.timelock.audit.ReleaseAuditLog;
+import com.example.timelock.audit.ReleaseAuditLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AuditControllerTest {
+  private static final AuditSearch ALL = new AuditSearch(null, null, null, null, null);
+
+  @Test
+  void pagesThroughTiesOnTimestampWithoutSkippingOrRepeating() {
+    // 7 entries, the middle five written in the same instant, paged 2 at a time
+    Instant t = Instant.parse("2024-05-01T10:00:00.123Z");
+    var repo = repoOver(List.of(
+        entry(1, t.minusSeconds(1)), entry(2, t), entry(3, t), entry(4, t), entry(5, t), entry(6, t),
+        entry(7, t.plusSeconds(1))));
+
+    List<Long> seen = new ArrayList<>();
+    String after = "";
+    int pages = 0;
+    do {
+      var page = AuditController.seek(repo, ALL, after, 2);
+      page.content().stream().map(AuditLogDto::id).forEach(seen::add);
+      after = page.hasNext() ? page.nextCursor() : null;
+      pages++;
+    } while (after != null);
+
+    assertEquals(List.of(7L, 6L, 5L, 4L, 3L, 2L, 1L), seen);
+    assertEquals(4, pages);
+  }
+
+  @Test
+  void cursorCarriesTheLastRowsTimestampAndId() {
+    Instant t = Instant.parse("2024-05-01T10:00:00.123456Z");
+    var repo = repoOver(List.of(entry(1, t), entry(2, t), entry(3, t)));
+
+    var page = AuditController.seek(repo, ALL, "", 2);
+
+    assertTrue(page.hasNext());
+    assertEquals(new Cursor("performedAt", false, t.toString(), 2L), Cursor.decode(page.nextCursor()));
+    AuditController.seek(repo, ALL, page.nextCursor(), 2);
+    verify(repo).seek(ALL, t, 2L, 3);
+  }
+
+  @Test
+  void lastPageHasNoCursor() {
+    var repo = repoOver(List.of(entry(1, Instant.now())));
+
+    var page = AuditController.seek(repo, ALL, "", 1);
+
+    assertFalse(page.hasNext());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void malformedCursorsAreBadRequests() throws Exception {
+    var repo = repoOver(List.of());
+    MockMvc mvc = MockMvcBuilders.standaloneSetup(new AuditController(mock(AuditExporter.class), repo))
+        .setControllerAdvice(new ErrorHandler())
+        .build();
+
+    for (String after : List.of(
+        "not a cursor!",
+        new Cursor("performedAt", false, "yesterday", 1L).encode(),   // value is not an instant
+        new Cursor("title", false, "2024-05-01T10:00:00Z", 1L).encode(), // cursor of a release list
+        new Cursor("performedAt", true, "2024-05-01T10:00:00Z", 1L).encode())) {
+      mvc.perform(get("/api/v1/audit").param("after", after))
+          .andExpect(status().isBadRequest())
+          .andExpect(jsonPath("$.status").value(400));
+    }
+    mvc.perform(get("/api/v1/audit").param("size", "501")).andExpect(status().isBadRequest());
+    verify(repo, never()).seek(any(), any(), any(), anyInt());
+  }
+
+  // Repository whose seek follows the same (performedAt, id) DESC keyset as AuditSearchRepositoryImpl
+  private static ReleaseAuditLogRepository repoOver(List<ReleaseAuditLog> rows) {
+    var repo = mock(ReleaseAuditLogRepository.class);
+    Comparator<ReleaseAuditLog> newestFirst = Comparator.comparing(ReleaseAuditLog::getPerformedAt)
+        .thenComparing(ReleaseAuditLog::getId).reversed();
+    when(repo.seek(any(), any(), any(), anyInt())).thenAnswer(inv -> {
+      Instant afterAt = inv.getArgument(1);
+      Long afterId = inv.getArgument(2);
+      int limit = inv.getArgument(3);
+      return rows.stream()
+          .filter(r -> afterAt == null || r.getPerformedAt().isBefore(afterAt)
+              || r.getPerformedAt().equals(afterAt) && r.getId() < afterId)
+          .sorted(newestFirst)
+          .limit(limit)
+          .toList();
+    });
+    return repo;
+  }
+
+  private static ReleaseAuditLog entry(long id, Instant performedAt) {
+    var l = new ReleaseAuditLog();
+    l.setId(id);
+    l.setReleaseId(1L);
+    l.setAction("APPROVED");
+    l.setPerformedBy("approver@example.com");
+    l.setPerformedAt(performedAt);
+    return l;
+  }
+}
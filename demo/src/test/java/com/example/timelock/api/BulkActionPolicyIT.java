@@ -0,0 +1,74 @@
+package com.example.timelock.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BulkActionPolicyIT {
+
+  @Container
+  static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+      .withDatabaseName("appdb")
+      .withUsername("appuser")
+      .withPassword("apppass");
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", mysql::getJdbcUrl);
+    r.add("spring.datasource.username", mysql::getUsername);
+    r.add("spring.datasource.password", mysql::getPassword);
+    r.add("jwt.issuer", () -> "example.com");
+    r.add("jwt.secret", () -> "8evdgMoilLs4kfweAyXSh3LDTi0fdk6ru+d9NRpFto0=");
+  }
+
+  @Autowired
+  TestRestTemplate http;
+
+  @Test
+  void userCannotBulkApproveOrSchedule() {
+    String token = login("user@example.com", "user123");
+
+    assertThat(post("/api/v1/releases/bulk/actions/approve", Map.of("ids", List.of(1)), token)
+        .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    assertThat(post("/api/v1/releases/bulk/actions/schedule",
+        Map.of("items", List.of(Map.of("id", 1, "scheduledAt", "2030-01-01T00:00:00Z"))), token)
+        .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+  }
+
+  @Test
+  void approverCannotBulkSchedule() {
+    String token = login("approver@example.com", "approver123");
+
+    assertThat(post("/api/v1/releases/bulk/actions/schedule",
+        Map.of("items", List.of(Map.of("id", 1, "scheduledAt", "2030-01-01T00:00:00Z"))), token)
+        .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+  }
+
+  private String login(String email, String password) {
+    ResponseEntity<Map> login = http.postForEntity("/auth/login",
+        Map.of("email", email, "password", password), Map.class);
+    assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return (String) login.getBody().get("token");
+  }
+
+  private ResponseEntity<String> post(String path, Object body, String token) {
+    HttpHeaders h = new HttpHeaders();
+    h.setBearerAuth(token);
+    h.setContentType(MediaType.APPLICATION_JSON);
+    return http.exchange(path, HttpMethod.POST, new HttpEntity<>(body, h), String.class);
+  }
+}
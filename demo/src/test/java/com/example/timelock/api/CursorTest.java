@@ -0,0 +1,30 @@
+package com.example.timelock.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CursorTest {
+
+  @Test
+  void roundTripsValuesContainingSeparators() {
+    var cursor = new Cursor("title", true, "Release\nwith newline", 42L);
+
+    var decoded = Cursor.decode(cursor.encode());
+
+    assertEquals(cursor, decoded);
+  }
+
+  @Test
+  void tokenIsUrlSafe() {
+    var token = new Cursor("createdAt", false, "2024-01-01T00:00:00Z", 7L).encode();
+
+    assertTrue(token.matches("[A-Za-z0-9_-]+"));
+  }
+
+  @Test
+  void rejectsTamperedTokens() {
+    assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not a cursor!"));
+    assertThrows(IllegalArgumentException.class, () -> Cursor.decode("YWJj"));
+  }
+}
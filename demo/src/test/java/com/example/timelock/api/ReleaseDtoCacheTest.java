@@ -0,0 +1,69 @@
+package com.example.timelock.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.timelock.api.dto.ReleaseResponseDto;
+import com.example.timelock.release.ReleaseInvalidations;
+import com.example.timelock.release.ReleaseStatus;
+import com.example.timelock.release.ReleasesChanged;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ReleaseDtoCacheTest {
+
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+  private final ReleaseInvalidations invalidations =
+      new ReleaseInvalidations(jdbc, mock(ApplicationEventPublisher.class), 5000);
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final ReleaseDtoCache cache = new ReleaseDtoCache(meters, invalidations, 100, 60_000);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void servesRepeatedReadsUntilTheReleaseChanges() {
+    firstPoll();
+
+    cache.get(1L, () -> dto(loads.incrementAndGet()));
+    cache.get(1L, () -> dto(loads.incrementAndGet()));
+    assertEquals(1, loads.get());
+
+    cache.onChanged(new ReleasesChanged(List.of(1L)));
+    cache.get(1L, () -> dto(loads.incrementAndGet()));
+    assertEquals(2, loads.get());
+
+    assertEquals(1.0, meters.get("cache.gets").tag("cache", "releases").tag("result", "hit").functionCounter().count());
+  }
+
+  @Test
+  void keepsNothingBeforeTheFirstInvalidationPoll() {
+    assertFalse(invalidations.isWatching());
+
+    assertEquals("R1", cache.get(1L, () -> dto(loads.incrementAndGet())).title());
+    // Another node may have changed the release meanwhile; nothing would have evicted it
+    assertEquals("R2", cache.get(1L, () -> dto(loads.incrementAndGet())).title());
+    assertEquals(2, loads.get());
+
+    firstPoll();
+    assertTrue(invalidations.isWatching());
+    cache.get(1L, () -> dto(loads.incrementAndGet()));
+    assertEquals("R3", cache.get(1L, () -> dto(loads.incrementAndGet())).title());
+    assertEquals(3, loads.get());
+  }
+
+  private void firstPoll() {
+    when(jdbc.queryForObject("SELECT NOW(3)", Timestamp.class)).thenReturn(Timestamp.from(Instant.now()));
+    invalidations.poll();
+  }
+
+  private static ReleaseResponseDto dto(int n) {
+    return new ReleaseResponseDto(1L, "R" + n, null, null, ReleaseStatus.DRAFT, null, "u", null,
+        null, null, null, List.of());
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.timelock.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class AsyncAuditWriterTest {
+
+  @Test
+  void badEntryIsDroppedAloneAndTheRestOfTheBatchIsWritten() {
+    List<ReleaseAuditLog> written = new ArrayList<>();
+    var meters = new SimpleMeterRegistry();
+    var writer = new AsyncAuditWriter(16, 500, 10, entries -> {
+      if (entries.stream().anyMatch(e -> e.getReleaseId() == 7L)) {
+        throw new DataIntegrityViolationException("Data too long for column 'performed_by'");
+      }
+      written.addAll(entries);
+    }, meters);
+
+    writer.write(IntStream.range(0, 10)
+        .mapToObj(i -> AuditService.entry((long) i, "CREATED", "user@example.com", null))
+        .toList());
+
+    assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 8L, 9L),
+        written.stream().map(ReleaseAuditLog::getReleaseId).toList());
+    assertEquals(1.0, meters.counter("audit.write.failures").count());
+  }
+
+  @Test
+  void refusesEntriesOnceStoppedSoTheCallerWritesThem() {
+    List<ReleaseAuditLog> written = new CopyOnWriteArrayList<>();
+    var meters = new SimpleMeterRegistry();
+    var writer = new AsyncAuditWriter(16, 500, 10_000, written::addAll, meters);
+    writer.start();
+
+    assertTrue(writer.offer(AuditService.entry(1L, "CREATED", "user@example.com", null)));
+    writer.stop();
+
+    // Written by the shutdown drain, not lost with the ring
+    assertEquals(List.of(1L), written.stream().map(ReleaseAuditLog::getReleaseId).toList());
+    assertFalse(writer.offer(AuditService.entry(2L, "CREATED", "user@example.com", null)));
+    assertEquals(1, written.size());
+    assertEquals(0.0, meters.get("audit.buffer.size").gauge().value());
+    assertEquals(0.0, meters.counter("audit.buffer.overflow").count());
+  }
+}
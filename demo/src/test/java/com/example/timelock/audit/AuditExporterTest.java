@@ -0,0 +1,17 @@
+package com.example.timelock.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AuditExporterTest {
+
+  @Test
+  void csvQuotesOnlyFieldsThatNeedIt() {
+    assertEquals("Title: X", AuditExporter.escape("Title: X"));
+    assertEquals("\"a,b\"", AuditExporter.escape("a,b"));
+    assertEquals("\"say \"\"hi\"\"\"", AuditExporter.escape("say \"hi\""));
+    assertEquals("\"two\nlines\"", AuditExporter.escape("two\nlines"));
+    assertEquals("", AuditExporter.escape(null));
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.timelock.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.example.timelock.partition.MonthlyPartitions;
+import com.example.timelock.partition.MonthlyPartitions.Partition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AuditRetentionTest {
+  private static final YearMonth NOW = YearMonth.of(2026, 10);
+  private static final Partition SEP_2024 = new Partition("p202409",
+      Instant.parse("2024-09-01T00:00:00Z"), Instant.parse("2024-10-01T00:00:00Z"));
+  private static final Partition AUG_2024 = new Partition("p202408",
+      Instant.parse("2024-08-01T00:00:00Z"), Instant.parse("2024-09-01T00:00:00Z"));
+
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+  private final AuditExporter exporter = mock(AuditExporter.class);
+  private final MonthlyPartitions partitions = mock(MonthlyPartitions.class);
+
+  @Test
+  void keepsTheCurrentMonthAndTheRetainedOnesBeforeIt() {
+    assertEquals(Instant.parse("2024-10-01T00:00:00Z"), AuditRetention.keepFrom(NOW, 24));
+    assertEquals(Instant.parse("2026-10-01T00:00:00Z"), AuditRetention.keepFrom(NOW, 0));
+    assertEquals(Instant.parse("2025-12-01T00:00:00Z"), AuditRetention.keepFrom(YearMonth.of(2026, 1), 1));
+  }
+
+  @Test
+  void rollsUpThenDropsEveryExpiredMonthOldestFirst() {
+    when(partitions.endingBy(Instant.parse("2024-10-01T00:00:00Z"))).thenReturn(List.of(AUG_2024, SEP_2024));
+
+    new AuditRetention(jdbc, exporter, partitions, 24, 3, "").maintainAsOf(NOW);
+
+    InOrder order = inOrder(partitions, jdbc);
+    order.verify(partitions).ensureThrough(YearMonth.of(2027, 1));
+    order.verify(jdbc).update(contains("PARTITION (p202408)"));
+    order.verify(partitions).drop("p202408");
+    order.verify(jdbc).update(contains("PARTITION (p202409)"));
+    order.verify(partitions).drop("p202409");
+    verifyNoInteractions(exporter);
+  }
+
+  @Test
+  void monthIsExportedBeforeItIsDropped(@TempDir Path dir) throws Exception {
+    when(partitions.endingBy(any())).thenReturn(List.of(SEP_2024));
+    when(exporter.export(any(), eq(AuditExporter.Format.NDJSON), any())).thenAnswer(inv -> {
+      AuditExporter.Filter filter = inv.getArgument(0);
+      assertEquals(SEP_2024.from(), filter.from());
+      assertEquals(SEP_2024.to(), filter.to());
+      inv.<OutputStream>getArgument(2).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+      return 1L;
+    });
+
+    new AuditRetention(jdbc, exporter, partitions, 24, 3, dir.toString()).maintainAsOf(NOW);
+
+    Path file = dir.resolve("release_audit_log-p202409.ndjson.gz");
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    verify(partitions).drop("p202409");
+  }
+
+  @Test
+  void monthWhoseExportFailsIsKeptForTheNextRun(@TempDir Path dir) throws Exception {
+    when(partitions.endingBy(any())).thenReturn(List.of(AUG_2024, SEP_2024));
+    when(exporter.export(any(), any(), any())).thenAnswer(inv -> {
+      AuditExporter.Filter filter = inv.getArgument(0);
+      if (filter.to().equals(AUG_2024.to())) {
+        throw new IllegalStateException("connection reset");
+      }
+      return 0L;
+    });
+
+    new AuditRetention(jdbc, exporter, partitions, 24, 3, dir.toString()).maintainAsOf(NOW);
+
+    verify(partitions, never()).drop("p202408");
+    assertFalse(Files.exists(dir.resolve("release_audit_log-p202408.ndjson.gz")));
+    // the failure does not hold back later months
+    verify(partitions).drop("p202409");
+  }
+
+  @Test
+  void zeroRetentionOnlyAddsPartitions() {
+    new AuditRetention(jdbc, exporter, partitions, 0, 2, "").maintainAsOf(NOW);
+
+    verify(partitions).ensureThrough(YearMonth.of(2026, 12));
+    verify(partitions, never()).endingBy(any());
+    verify(partitions, never()).drop(any());
+    verifyNoInteractions(jdbc);
+  }
+
+  @Test
+  void skipsTheRunWhileAnotherNodeHoldsTheLock() {
+    when(partitions.exclusively(any())).thenReturn(false);
+
+    new AuditRetention(jdbc, exporter, partitions, 24, 3, "").maintain();
+
+    verify(partitions, never()).ensureThrough(any());
+    verify(partitions, never()).drop(any());
+  }
+
+  @Test
+  void runsUnderTheLockWhenItIsFree() {
+    when(partitions.exclusively(any())).thenAnswer(inv -> {
+      inv.<Runnable>getArgument(0).run();
+      return true;
+    });
+
+    new AuditRetention(jdbc, exporter, partitions, 24, 3, "").maintain();
+
+    verify(partitions).ensureThrough(any());
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.timelock.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTest {
+
+  @Test
+  void rejectsWhenFullAndAcceptsAgainAfterDrain() {
+    var ring = new AuditRingBuffer<Integer>(4);
+    for (int i = 0; i < 4; i++) assertTrue(ring.offer(i));
+    assertFalse(ring.offer(4));
+
+    List<Integer> out = new ArrayList<>();
+    assertEquals(3, ring.drain(3, out::add));
+    assertEquals(List.of(0, 1, 2), out);
+    assertTrue(ring.offer(5));
+    assertEquals(2, ring.size());
+  }
+
+  @Test
+  void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws Exception {
+    int producers = 4;
+    int perProducer = 50_000;
+    var ring = new AuditRingBuffer<long[]>(1024);
+    var done = new AtomicBoolean();
+    long[] lastSeen = new long[producers];
+    Arrays.fill(lastSeen, -1);
+    int[] received = new int[1];
+    var ordered = new AtomicBoolean(true);
+
+    Thread consumer = Thread.ofPlatform().start(() -> {
+      while (!done.get() || ring.size() > 0) {
+        ring.drain(100, e -> {
+          int p = (int) e[0];
+          if (e[1] != lastSeen[p] + 1) ordered.set(false);
+          lastSeen[p] = e[1];
+          received[0]++;
+        });
+      }
+    });
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      int id = p;
+      threads.add(Thread.ofPlatform().start(() -> {
+        for (long i = 0; i < perProducer; i++) {
+          while (!ring.offer(new long[] {id, i})) Thread.onSpinWait();
+        }
+      }));
+    }
+    for (Thread t : threads) t.join();
+    done.set(true);
+    consumer.join();
+
+    assertEquals(producers * perProducer, received[0]);
+    assertTrue(ordered.get());
+  }
+}
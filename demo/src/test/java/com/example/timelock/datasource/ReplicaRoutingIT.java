@@ -0,0 +1,154 @@
+package com.example.timelock.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.timelock.security.jwt.JwtService;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two independent MySQL containers stand in for a primary and its replica; which one served
+ * a query is told apart by {@code @@server_uuid}. A second, unreachable replica URL checks
+ * that a dead replica is skipped rather than failing reads.
+ */
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReplicaRoutingIT {
+
+  @Container
+  static MySQLContainer<?> primary = new MySQLContainer<>("mysql:8.0")
+      .withDatabaseName("appdb").withUsername("appuser").withPassword("apppass");
+
+  @Container
+  static MySQLContainer<?> replica = new MySQLContainer<>("mysql:8.0")
+      .withDatabaseName("appdb").withUsername("appuser").withPassword("apppass");
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    // Real replication is out of scope here; the replica just needs the same schema
+    Flyway.configure()
+        .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+        .locations("classpath:db/migration")
+        .load()
+        .migrate();
+
+    r.add("spring.datasource.url", primary::getJdbcUrl);
+    r.add("spring.datasource.username", primary::getUsername);
+    r.add("spring.datasource.password", primary::getPassword);
+    r.add("app.release.replica.urls", () -> replica.getJdbcUrl() + ",jdbc:mysql://127.0.0.1:1/appdb");
+    r.add("app.release.replica.connect-timeout-ms", () -> "500");
+    r.add("app.release.replica.read-your-writes-ms", () -> "60000");
+    // keep the dispatcher away from rows the replay test requeues
+    r.add("app.release.outbox.poll-ms", () -> "3600000");
+    r.add("jwt.issuer", () -> "example.com");
+    r.add("jwt.secret", () -> "8evdgMoilLs4kfweAyXSh3LDTi0fdk6ru+d9NRpFto0=");
+  }
+
+  @Autowired JdbcTemplate jdbc;
+  @Autowired PlatformTransactionManager transactionManager;
+  @Autowired ReadYourWrites readYourWrites;
+  @Autowired ReplicaDataSource replicas;
+  @Autowired MockMvc mvc;
+  @Autowired JwtService jwt;
+
+  @AfterEach
+  void clearPrincipal() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() throws Exception {
+    for (int i = 0; i < 4; i++) {
+      // every other attempt lands on the dead replica first and must fall through
+      assertThat(serverUuid(true)).isEqualTo(uuidOf(replica));
+    }
+    assertThat(serverUuid(false)).isEqualTo(uuidOf(primary));
+    assertThat(replicas.downReplicas()).containsExactly("replica-1");
+  }
+
+  @Test
+  void recentWritersReadFromThePrimary() throws Exception {
+    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+        "user@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    assertThat(serverUuid(true)).isEqualTo(uuidOf(replica));
+
+    readYourWrites.pin("user@example.com");
+    assertThat(serverUuid(true)).isEqualTo(uuidOf(primary));
+  }
+
+  @Test
+  void writesAfterAReplicaReadInTheSameRequestGoToThePrimary() throws Exception {
+    // Same dead letter on both servers: the replay reads its chunk from the replica, then requeues
+    for (MySQLContainer<?> mysql : List.of(primary, replica)) {
+      try (Connection c = connect(mysql)) {
+        c.createStatement().executeUpdate(
+            "INSERT INTO webhook_outbox (id, release_id, target_url, dedup_key, status, attempts, next_attempt_at) " +
+            "VALUES (9001, 1, 'http://127.0.0.1:1/hook', 'release-1-0', 'FAILED', 10, NOW(3))");
+        c.createStatement().executeUpdate(
+            "INSERT INTO webhook_dead_letters (id, outbox_id, release_id, target_url, error_class, attempts, failed_at) " +
+            "VALUES (9001, 9001, 1, 'http://127.0.0.1:1/hook', 'ConnectException', 10, NOW(3))");
+      }
+    }
+
+    mvc.perform(post("/api/v1/releases/dead-letters/replay")
+            .header("Authorization", "Bearer " + jwt.issue("admin@example.com", "ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andExpect(status().isOk());
+
+    assertThat(outboxStatus(primary)).isEqualTo("PENDING");
+    assertThat(outboxStatus(replica)).isEqualTo("FAILED");
+  }
+
+  private static String outboxStatus(MySQLContainer<?> mysql) throws Exception {
+    try (Connection c = connect(mysql);
+         ResultSet rs = c.createStatement().executeQuery("SELECT status FROM webhook_outbox WHERE id = 9001")) {
+      rs.next();
+      return rs.getString(1);
+    }
+  }
+
+  private static Connection connect(MySQLContainer<?> mysql) throws Exception {
+    return DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+  }
+
+  private String serverUuid(boolean readOnly) {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    tx.setReadOnly(readOnly);
+    return tx.execute(status -> jdbc.queryForObject("SELECT @@server_uuid", String.class));
+  }
+
+  private static String uuidOf(MySQLContainer<?> mysql) throws Exception {
+    try (Connection c = connect(mysql);
+         ResultSet rs = c.createStatement().executeQuery("SELECT @@server_uuid")) {
+      rs.next();
+      return rs.getString(1);
+    }
+  }
+}
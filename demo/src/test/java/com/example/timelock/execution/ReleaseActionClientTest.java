@@ -0,0 +1,80 @@
+package com.example.timelock.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.example.timelock.execution.ReleaseActionClient.BatchAck;
+import com.example.timelock.execution.ReleaseActionClient.BatchResponse;
+import org.junit.jupiter.api.Test;
+
+class ReleaseActionClientTest {
+
+    private static final List<WebhookOutboxEntry> ENTRIES = List.of(entry("a"), entry("b"), entry("c"));
+
+    @Test
+    void acknowledgedItemsAreNotRejected() {
+        var failed = rejected("""
+            {"results":[{"idempotencyKey":"a","status":200},{"idempotencyKey":"b","status":202},
+                        {"idempotencyKey":"c","status":204,"extra":"ignored"}]}""");
+
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    void itemMissingFromResultsIsRetryable() {
+        var failed = rejected("""
+            {"results":[{"idempotencyKey":"a","status":200},{"idempotencyKey":"c","status":200}]}""");
+
+        assertEquals(List.of("b"), List.copyOf(failed.keySet()));
+        assertTrue(failed.get("b").isRetryable());
+        assertNull(failed.get("b").getStatusCode());
+        assertEquals("Item missing from batch response", failed.get("b").getMessage());
+    }
+
+    @Test
+    void non2xxItemsAreRetriedOnlyWhenTheStatusIsTransient() {
+        var failed = rejected("""
+            {"results":[{"idempotencyKey":"a","status":503},{"idempotencyKey":"b","status":429},
+                        {"idempotencyKey":"c","status":422}]}""");
+
+        assertEquals(List.of("a", "b", "c"), List.copyOf(failed.keySet()));
+        assertTrue(failed.get("a").isRetryable());
+        assertEquals(503, failed.get("a").getStatusCode());
+        assertTrue(failed.get("b").isRetryable());
+        assertFalse(failed.get("c").isRetryable());
+        assertEquals(422, failed.get("c").getStatusCode());
+    }
+
+    @Test
+    void plainTextBodyAcknowledgesTheWholeBatch() {
+        assertNull(ReleaseActionClient.parseBatchResponse("OK").results());
+        assertTrue(rejected("OK").isEmpty());
+    }
+
+    @Test
+    void nullResultsAcknowledgeTheWholeBatch() {
+        assertTrue(rejected("{\"results\":null}").isEmpty());
+        assertTrue(rejected("{}").isEmpty());
+    }
+
+    @Test
+    void acksWithoutAKeyAreIgnored() {
+        var response = new BatchResponse(Arrays.asList(
+            new BatchAck(null, 200), new BatchAck("a", 200), new BatchAck("b", 200), new BatchAck("c", 200)));
+
+        assertTrue(ReleaseActionClient.rejectedItems(ENTRIES, response).isEmpty());
+    }
+
+    private static Map<String, WebhookDeliveryException> rejected(String body) {
+        return ReleaseActionClient.rejectedItems(ENTRIES, ReleaseActionClient.parseBatchResponse(body));
+    }
+
+    private static WebhookOutboxEntry entry(String dedupKey) {
+        var e = new WebhookOutboxEntry();
+        e.setDedupKey(dedupKey);
+        return e;
+    }
+}
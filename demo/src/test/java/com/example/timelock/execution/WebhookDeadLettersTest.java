@@ -0,0 +1,138 @@
+package com.example.timelock.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class WebhookDeadLettersTest {
+
+    private final WebhookDeadLetterRepository letterRepo = mock(WebhookDeadLetterRepository.class);
+    private final WebhookOutboxRepository outboxRepo = mock(WebhookOutboxRepository.class);
+    private final WebhookOutbox outbox = new WebhookOutbox(outboxRepo, letterRepo, mock(ReleaseActionClient.class),
+                                                           60_000, 10, 2000, 600_000);
+    private final WebhookDeadLetters deadLetters = new WebhookDeadLetters(letterRepo, outbox, 100, 1000);
+    // next_attempt_at per requeued outbox id, in the order the UPDATEs ran
+    private final Map<Long, Instant> due = new LinkedHashMap<>();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @Test
+    void walksTheSelectionInKeysetChunksAndSpacesRowsAtTheRate() {
+        stubLetters(2500, Set.of());
+
+        Instant before = Instant.now();
+        var replay = deadLetters.replay(null, null, null, null, 400, null);
+
+        assertEquals(2500, replay.requeued());
+        assertEquals(List.of(WebhookDeadLetters.CHUNK, WebhookDeadLetters.CHUNK, WebhookDeadLetters.CHUNK),
+            chunkSizes);
+        verify(letterRepo).nextChunk(eq(0L), any(), any(), any(), any(), any());
+        verify(letterRepo).nextChunk(eq(1000L), any(), any(), any(), any(), any());
+        verify(letterRepo).nextChunk(eq(2000L), any(), any(), any(), any(), any());
+        assertEquals(2500, due.size());
+
+        Instant start = due.get(10_001L);
+        assertFalse(start.isBefore(before));
+        // 400 per second: rows 0..399 at +0s, 400..799 at +1s, ... row 2499 at +6s
+        assertEquals(start, due.get(10_400L));
+        assertEquals(start.plusSeconds(1), due.get(10_401L));
+        assertEquals(start.plusSeconds(2), due.get(10_801L));
+        assertEquals(start.plusSeconds(6), due.get(12_500L));
+        assertEquals(due.get(12_500L), replay.completesBy());
+    }
+
+    @Test
+    void limitCutsTheLastChunkShort() {
+        stubLetters(2500, Set.of());
+
+        var replay = deadLetters.replay(null, null, null, null, 100, 1200);
+
+        assertEquals(1200, replay.requeued());
+        assertEquals(List.of(1000, 200), chunkSizes);
+        assertEquals(1200, due.size());
+        Instant start = due.get(10_001L);
+        assertEquals(start.plusSeconds(11), replay.completesBy());
+    }
+
+    @Test
+    void rowsNoLongerFailedAreNotCountedAndTakeNoSlot() {
+        // rows 3, 4 and 1001 were redelivered or replayed by someone else meanwhile
+        stubLetters(1500, Set.of(10_003L, 10_004L, 10_001L + 1000));
+
+        var replay = deadLetters.replay(null, null, null, null, 1, 1000);
+
+        // the walk moves past the stale rows and fetches more to reach the limit
+        assertEquals(1000, replay.requeued());
+        assertEquals(List.of(1000, 2, 1), chunkSizes);
+        assertFalse(due.containsKey(10_003L));
+        assertFalse(due.containsKey(10_004L));
+        assertFalse(due.containsKey(11_001L));
+        // slots stay contiguous across the gaps: one row per second
+        Instant start = due.get(10_001L);
+        assertEquals(start.plusSeconds(1), due.get(10_002L));
+        assertEquals(start.plusSeconds(2), due.get(10_005L));
+        assertEquals(start.plusSeconds(999), due.get(11_003L));
+        assertEquals(start.plusSeconds(999), replay.completesBy());
+        // stale letters are dropped together with their chunk
+        verify(letterRepo, times(3)).deleteAllByIds(anyList());
+    }
+
+    @Test
+    void emptySelectionCompletesRightAway() {
+        stubLetters(0, Set.of());
+
+        Instant before = Instant.now();
+        var replay = deadLetters.replay("http://nowhere", null, null, null, null, null);
+
+        assertEquals(0, replay.requeued());
+        assertEquals(100, replay.ratePerSecond());
+        assertTrue(Duration.between(before, replay.completesBy()).toSeconds() < 1);
+        verifyNoInteractions(outboxRepo);
+    }
+
+    @Test
+    void rejectsRatesAndLimitsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> deadLetters.replay(null, null, null, null, 1001, null));
+        assertThrows(IllegalArgumentException.class, () -> deadLetters.replay(null, null, null, null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> deadLetters.replay(null, null, null, null, 10, 0));
+        verifyNoInteractions(letterRepo, outboxRepo);
+    }
+
+    // Letters 1..count for outbox rows 10_001..; rows in stale are no longer FAILED
+    private void stubLetters(int count, Set<Long> stale) {
+        List<WebhookDeadLetter> letters = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            var letter = new WebhookDeadLetter();
+            ReflectionTestUtils.setField(letter, "id", id);
+            letter.setOutboxId(10_000 + id);
+            letters.add(letter);
+        }
+        when(letterRepo.nextChunk(anyLong(), any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            int size = inv.<Pageable>getArgument(5).getPageSize();
+            chunkSizes.add(size);
+            return letters.stream().filter(l -> l.getId() > afterId).limit(size).toList();
+        });
+        when(outboxRepo.lockFailed(anyList())).thenAnswer(inv ->
+            inv.<List<Long>>getArgument(0).stream().filter(id -> !stale.contains(id)).toList());
+        when(outboxRepo.requeue(anyList(), any())).thenAnswer(inv -> {
+            List<Long> ids = inv.getArgument(0);
+            ids.forEach(id -> due.put(id, inv.getArgument(1)));
+            return ids.size();
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.timelock.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class WebhookOutboxTest {
+
+    private final WebhookOutboxRepository repo = mock(WebhookOutboxRepository.class);
+    private final WebhookDeadLetterRepository deadLetters = mock(WebhookDeadLetterRepository.class);
+    private final ReleaseActionClient client = mock(ReleaseActionClient.class);
+    // 2s base backoff capped at 30s, 5 attempts
+    private final WebhookOutbox outbox = new WebhookOutbox(repo, deadLetters, client, 60_000, 5, 2000, 30_000);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueueFansOutOneRowPerTarget() {
+        outbox.enqueue(7L, "T", "{}", List.of("https://a.example.com/h", "https://b.example.com/h"));
+
+        ArgumentCaptor<List<WebhookOutboxEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repo).saveAll(saved.capture());
+        var rows = saved.getValue();
+        assertEquals(2, rows.size());
+        assertEquals("https://a.example.com/h", rows.get(0).getTargetUrl());
+        assertEquals("release-7-0", rows.get(0).getDedupKey());
+        assertEquals("https://b.example.com/h", rows.get(1).getTargetUrl());
+        assertEquals("release-7-1", rows.get(1).getDedupKey());
+        assertEquals(7L, rows.get(1).getReleaseId());
+        assertEquals("T", rows.get(1).getTitle());
+        assertEquals("{}", rows.get(1).getPayloadJson());
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueueFallsBackToTheGlobalWebhook() {
+        when(client.defaultTarget()).thenReturn("https://global.example.com/h");
+
+        outbox.enqueue(7L, "T", null, List.of());
+
+        ArgumentCaptor<List<WebhookOutboxEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repo).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals("https://global.example.com/h", saved.getValue().get(0).getTargetUrl());
+        assertEquals("release-7-0", saved.getValue().get(0).getDedupKey());
+    }
+
+    @Test
+    void enqueueWithoutAnyTargetWritesNothing() {
+        when(client.defaultTarget()).thenReturn("");
+
+        outbox.enqueue(7L, "T", null, null);
+
+        verify(repo, never()).saveAll(anyList());
+    }
+
+    @Test
+    void claimDueCountsTheAttemptAndHidesTheRowForTheInflightWindow() {
+        var row = entry(1L, 2);
+        when(repo.lockDue(any(), eq(50))).thenReturn(List.of(row));
+
+        Instant before = Instant.now();
+        assertEquals(List.of(row), outbox.claimDue(50));
+
+        assertEquals(3, row.getAttempts());
+        long hiddenFor = Duration.between(before, row.getNextAttemptAt()).toMillis();
+        assertTrue(hiddenFor >= 60_000 && hiddenFor < 61_000, "hidden for " + hiddenFor);
+    }
+
+    @Test
+    void backoffDoublesPerAttemptUpToTheCap() {
+        assertEquals(2_000, backoffAfter(1));
+        assertEquals(4_000, backoffAfter(2));
+        assertEquals(8_000, backoffAfter(3));
+        assertEquals(16_000, backoffAfter(4));
+
+        // Capped, also far beyond the shift limit
+        var capped = new WebhookOutbox(repo, deadLetters, client, 60_000, 100, 2000, 30_000);
+        assertEquals(30_000, backoffAfter(capped, 5));
+        assertEquals(30_000, backoffAfter(capped, 64));
+        verify(deadLetters, never()).save(any());
+    }
+
+    @Test
+    void lastAttemptMovesTheRowToFailedAndDeadLettersIt() {
+        var row = entry(9L, 5);
+        var error = new WebhookDeliveryException("Webhook call failed: refused", null, true, new ConnectException("refused"));
+
+        outbox.markFailed(row, error);
+
+        verify(repo).markFailed(eq(9L), eq(DeliveryStatus.FAILED), any(), isNull(), eq("Webhook call failed: refused"));
+        var letter = ArgumentCaptor.forClass(WebhookDeadLetter.class);
+        verify(deadLetters).save(letter.capture());
+        assertEquals(9L, letter.getValue().getOutboxId());
+        assertEquals("ConnectException", letter.getValue().getErrorClass());
+        assertEquals(5, letter.getValue().getAttempts());
+    }
+
+    @Test
+    void nonRetryableFailureIsFinalOnTheFirstAttempt() {
+        var row = entry(9L, 1);
+
+        outbox.markFailed(row, new WebhookDeliveryException("Webhook call failed: 422", 422, false, null));
+
+        verify(repo).markFailed(eq(9L), eq(DeliveryStatus.FAILED), any(), eq(422), any());
+        var letter = ArgumentCaptor.forClass(WebhookDeadLetter.class);
+        verify(deadLetters).save(letter.capture());
+        assertEquals(422, letter.getValue().getLastStatusCode());
+        assertEquals("WebhookDeliveryException", letter.getValue().getErrorClass());
+    }
+
+    @Test
+    void longErrorsAreTruncatedToTheColumn() {
+        outbox.markFailed(entry(9L, 1), new IllegalStateException("x".repeat(5000)));
+
+        var error = ArgumentCaptor.forClass(String.class);
+        verify(repo).markFailed(eq(9L), eq(DeliveryStatus.PENDING), any(), isNull(), error.capture());
+        assertEquals(1024, error.getValue().length());
+    }
+
+    @Test
+    void deferHandsTheRowBackWithoutCountingTheAttempt() {
+        Instant before = Instant.now();
+
+        outbox.defer(entry(9L, 3), Duration.ofSeconds(30), new IllegalStateException("circuit open"));
+
+        var next = ArgumentCaptor.forClass(Instant.class);
+        verify(repo).defer(eq(9L), next.capture(), eq("circuit open"));
+        assertFalse(next.getValue().isBefore(before.plusSeconds(30)));
+        verify(repo, never()).markFailed(any(), any(), any(), any(), any());
+    }
+
+    private long backoffAfter(int attempts) {
+        return backoffAfter(outbox, attempts);
+    }
+
+    // Delay markFailed schedules after a retryable failure of the given attempt
+    private long backoffAfter(WebhookOutbox outbox, int attempts) {
+        clearInvocations(repo);
+        Instant before = Instant.now();
+        outbox.markFailed(entry(1L, attempts), new IllegalStateException("boom"));
+        var next = ArgumentCaptor.forClass(Instant.class);
+        verify(repo).markFailed(eq(1L), eq(DeliveryStatus.PENDING), next.capture(), isNull(), eq("boom"));
+        long delay = Duration.between(before, next.getValue()).toMillis();
+        // round away the time markFailed itself took
+        return Math.round(delay / 1000.0) * 1000;
+    }
+
+    private static WebhookOutboxEntry entry(Long id, int attempts) {
+        var e = new WebhookOutboxEntry();
+        ReflectionTestUtils.setField(e, "id", id);
+        e.setReleaseId(7L);
+        e.setTargetUrl("https://a.example.com/h");
+        e.setDedupKey("release-7-0");
+        e.setAttempts(attempts);
+        return e;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.timelock.partition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.YearMonth;
+import org.junit.jupiter.api.Test;
+
+class MonthlyPartitionsTest {
+
+  @Test
+  void partitionOfAMonthEndsAtTheFirstSecondOfTheNext() {
+    assertEquals("p202610", MonthlyPartitions.name(YearMonth.of(2026, 10)));
+    // matches p202610 in V16__releases_archive.sql
+    assertEquals(1793491200L, MonthlyPartitions.upperBound(YearMonth.of(2026, 10)));
+    assertEquals("p202701", MonthlyPartitions.name(YearMonth.of(2027, 1)));
+  }
+}
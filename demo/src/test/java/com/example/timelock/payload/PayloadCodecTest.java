@@ -0,0 +1,36 @@
+package com.example.timelock.payload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class PayloadCodecTest {
+
+  @Test
+  void deflateRoundTripsAndShrinksRepetitiveJson() {
+    byte[] raw = "{\"flag\":\"checkout-v2\",\"enabled\":true}".repeat(50).getBytes(StandardCharsets.UTF_8);
+    byte[] data = PayloadCodec.DEFLATE.encode(raw);
+    assertTrue(data.length < raw.length);
+    assertArrayEquals(raw, PayloadCodec.DEFLATE.decode(data, raw.length));
+  }
+
+  @Test
+  void truncatedOrMisSizedDeflateIsRejected() {
+    byte[] raw = "{\"flag\":\"checkout-v2\",\"enabled\":true}".repeat(50).getBytes(StandardCharsets.UTF_8);
+    byte[] data = PayloadCodec.DEFLATE.encode(raw);
+    byte[] truncated = Arrays.copyOf(data, data.length / 2);
+
+    assertThrows(IllegalStateException.class, () -> PayloadCodec.DEFLATE.decode(truncated, raw.length));
+    assertThrows(IllegalStateException.class, () -> PayloadCodec.DEFLATE.decode(data, raw.length + 1));
+    assertThrows(IllegalStateException.class, () -> PayloadCodec.DEFLATE.decode(new byte[0], raw.length));
+  }
+
+  @Test
+  void hashMatchesMysqlSha2() {
+    // SELECT SHA2('abc', 256)
+    assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+        PayloadStore.hash("abc".getBytes(StandardCharsets.UTF_8)));
+  }
+}
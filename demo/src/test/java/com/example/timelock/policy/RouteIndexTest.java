@@ -0,0 +1,35 @@
+package com.example.timelock.policy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.timelock.entity.RouteScope;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RouteIndexTest {
+
+  private static RouteScope scope(String method, String pattern, String role) {
+    RouteScope s = new RouteScope();
+    s.setMethod(method);
+    s.setRoutePattern(pattern);
+    s.setRequiredRole(role);
+    return s;
+  }
+
+  @Test
+  void longestMatchingPatternWins() {
+    RouteIndex index = RouteIndex.compile(List.of(
+        scope("GET", "/api/v1/releases/**", "USER"),
+        scope("GET", "/api/v1/releases/dead-letters", "ADMIN")), "1");
+    assertEquals("ADMIN", index.requiredRoleFor("GET", "/api/v1/releases/dead-letters"));
+    assertEquals("USER", index.requiredRoleFor("GET", "/api/v1/releases/42"));
+  }
+
+  @Test
+  void methodIsCaseInsensitiveAndUnknownRoutesNeedNoRole() {
+    RouteIndex index = RouteIndex.compile(List.of(scope("post", "/api/v1/releases", "USER")), "1");
+    assertEquals("USER", index.requiredRoleFor("POST", "/api/v1/releases"));
+    assertNull(index.requiredRoleFor("DELETE", "/api/v1/releases"));
+    assertNull(index.requiredRoleFor("POST", "/api/v1/users"));
+  }
+}
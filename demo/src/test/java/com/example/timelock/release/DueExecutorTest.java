@@ -0,0 +1,51 @@
+package com.example.timelock.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class DueExecutorTest {
+
+  @Test
+  void emptyAndPartialBatchesKeepTheSize() {
+    assertEquals(200, DueExecutor.nextBatchSize(200, 0, 0, 2000, 10, 1000));
+    assertEquals(200, DueExecutor.nextBatchSize(200, 150, 9000, 2000, 10, 1000));
+  }
+
+  @Test
+  void fullBatchesMoveHalfwayTowardsTheTarget() {
+    // on target: unchanged
+    assertEquals(200, DueExecutor.nextBatchSize(200, 200, 2000, 2000, 10, 1000));
+    // twice as fast as wanted: 400 would hit the target, take half the step
+    assertEquals(300, DueExecutor.nextBatchSize(200, 200, 1000, 2000, 10, 1000));
+    // twice as slow: 100 would hit the target
+    assertEquals(150, DueExecutor.nextBatchSize(200, 200, 4000, 2000, 10, 1000));
+  }
+
+  @Test
+  void sizeIsClampedToTheConfiguredBounds() {
+    // a batch that took no measurable time scales as if it took 1 ms
+    assertEquals(1000, DueExecutor.nextBatchSize(200, 200, 0, 2000, 10, 1000));
+    assertEquals(10, DueExecutor.nextBatchSize(12, 12, 60_000, 2000, 10, 1000));
+    assertEquals(1000, DueExecutor.nextBatchSize(1000, 1000, 1000, 2000, 10, 1000));
+    assertEquals(10, DueExecutor.nextBatchSize(10, 10, 4000, 2000, 10, 1000));
+  }
+
+  @Test
+  void backlogGaugeReportsOverdueApprovedReleases() {
+    var repo = mock(ReleaseRepository.class);
+    var registry = new SimpleMeterRegistry();
+    var executor = new DueExecutor(repo, mock(ReleaseService.class), new ReleaseTimer("drain", 0),
+                                   mock(ReleaseLeases.class), mock(ReleaseExecutionPool.class), registry,
+                                   "drain", 5000, 2000, 10, 1000);
+    when(repo.countByStatusAndScheduledAtBefore(eq(ReleaseStatus.APPROVED), any())).thenReturn(42L);
+
+    assertEquals(0, registry.get("releases.backlog").gauge().value());
+    executor.measureBacklog();
+    assertEquals(42, registry.get("releases.backlog").gauge().value());
+  }
+}
@@ -0,0 +1,224 @@
+package com.example.timelock.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import com.example.timelock.audit.AuditService;
+import com.example.timelock.payload.PayloadStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ReleaseBulkServiceTest {
+
+  private final ReleaseArchiveRepository archive = mock(ReleaseArchiveRepository.class);
+  private final ReleaseStatistics statistics = mock(ReleaseStatistics.class);
+  private final AuditService audit = mock(AuditService.class);
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+  private final FakeReleases db = new FakeReleases();
+  private ReleaseBulkService svc;
+
+  @BeforeEach
+  void setUp() {
+    db.stub(jdbc);
+    svc = new ReleaseBulkService(mock(ReleaseRepository.class), archive, audit, statistics,
+        new ReleaseTimer("poll", 0), mock(PayloadStore.class), mock(ReleaseInvalidations.class),
+        jdbc, mock(PlatformTransactionManager.class));
+  }
+
+  @Test
+  void eachItemIsReportedOnItsOwn() {
+    db.put(1, ReleaseStatus.SCHEDULED);
+    db.put(2, ReleaseStatus.EXECUTED);
+    db.put(4, ReleaseStatus.CANCELLED);
+    // 3 does not exist, 5 was archived
+    when(archive.findStates(any())).thenReturn(List.of(new ReleaseState(5L, ReleaseStatus.EXECUTED, null, 3)));
+
+    List<ReleaseBulkService.Result> results = svc.approve(List.of(1L, 2L, 3L, 4L, 5L), "approver");
+
+    assertNull(results.get(0).error());
+    assertEquals("Release 2 has already been executed", results.get(1).error());
+    assertEquals("Release with id 3 not found", results.get(2).error());
+    assertEquals("Release 4 has been cancelled", results.get(3).error());
+    assertEquals("Release 5 has already been executed", results.get(4).error());
+    assertEquals(ReleaseStatus.APPROVED, db.status(1));
+    verify(statistics).transition(ReleaseStatus.SCHEDULED, ReleaseStatus.APPROVED, 1L);
+    verify(audit).logActions(argThat(entries -> entries.size() == 1));
+  }
+
+  @Test
+  void lostRaceIsReportedAndNotCounted() {
+    db.put(1, ReleaseStatus.SCHEDULED);
+    db.put(2, ReleaseStatus.SCHEDULED);
+    db.losesRace(2);
+
+    List<ReleaseBulkService.Result> results = svc.approve(List.of(1L, 2L), "approver");
+
+    assertTrue(results.get(0).ok());
+    assertEquals("Release 2 was modified concurrently", results.get(1).error());
+    verify(statistics).transition(ReleaseStatus.SCHEDULED, ReleaseStatus.APPROVED, 1L);
+  }
+
+  @Test
+  void unknownUpdateCountsAreCheckedAgainstTheRows() {
+    db.put(1, ReleaseStatus.APPROVED);
+    db.put(2, ReleaseStatus.APPROVED);
+    db.losesRace(2);
+    db.reportNoInfo();
+
+    List<ReleaseBulkService.Result> results = svc.cancel(List.of(1L, 2L), "admin");
+
+    assertTrue(results.get(0).ok());
+    assertEquals("Release 2 was modified concurrently", results.get(1).error());
+    verify(statistics).transition(ReleaseStatus.APPROVED, ReleaseStatus.CANCELLED, 1L);
+    verify(audit).logActions(argThat(entries -> entries.size() == 1));
+  }
+
+  @Test
+  void failedChunkOnlyFailsItsOwnItems() {
+    int n = 2 * ReleaseBulkService.CHUNK + 200;
+    LongStream.rangeClosed(1, n).forEach(id -> db.put(id, ReleaseStatus.DRAFT));
+    db.failBatch(2);
+    Instant when = Instant.parse("2030-01-01T00:00:00Z");
+
+    List<ReleaseBulkService.Result> results = svc.schedule(LongStream.rangeClosed(1, n)
+        .mapToObj(id -> new ReleaseBulkService.ScheduleItem(id, when)).toList());
+
+    assertEquals(List.of(ReleaseBulkService.CHUNK, ReleaseBulkService.CHUNK, 200), db.batchSizes);
+    assertEquals(n, results.size());
+    for (int i = 0; i < n; i++) {
+      ReleaseBulkService.Result r = results.get(i);
+      assertEquals(i, r.index());
+      assertEquals(i + 1L, r.id());
+      boolean inFailedChunk = i >= ReleaseBulkService.CHUNK && i < 2 * ReleaseBulkService.CHUNK;
+      assertEquals(inFailedChunk, !r.ok(), "item " + i);
+    }
+    assertTrue(results.get(ReleaseBulkService.CHUNK).error().startsWith("Chunk failed"));
+    verify(statistics).transition(ReleaseStatus.DRAFT, ReleaseStatus.SCHEDULED, (long) ReleaseBulkService.CHUNK);
+    verify(statistics).transition(ReleaseStatus.DRAFT, ReleaseStatus.SCHEDULED, 200L);
+  }
+
+  /**
+   * Just enough of the releases table behind the mocked JdbcTemplate: the locking state read
+   * and the guarded status UPDATE batches.
+   */
+  private static class FakeReleases {
+    private static final Pattern TARGET = Pattern.compile("SET status = '(\\w+)'");
+
+    private final Map<Long, ReleaseStatus> statuses = new HashMap<>();
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final Set<Long> racing = new HashSet<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private boolean noInfo;
+    private int failingBatch = -1;
+
+    void put(long id, ReleaseStatus status) {
+      statuses.put(id, status);
+      versions.put(id, 0L);
+    }
+
+    ReleaseStatus status(long id) { return statuses.get(id); }
+
+    // Another writer changes the row first, so the guarded UPDATE matches nothing
+    void losesRace(long id) { racing.add(id); }
+
+    // The driver reports Statement.SUCCESS_NO_INFO instead of row counts
+    void reportNoInfo() { noInfo = true; }
+
+    void failBatch(int nth) { failingBatch = nth; }
+
+    @SuppressWarnings("unchecked")
+    void stub(JdbcTemplate jdbc) {
+      when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(this::states);
+      when(jdbc.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+          .thenAnswer(this::update);
+    }
+
+    private List<ReleaseState> states(InvocationOnMock inv) {
+      List<ReleaseState> rows = new ArrayList<>();
+      for (Object arg : flatten(inv.getArguments())) {
+        if (arg instanceof Long id && statuses.containsKey(id) && rows.stream().noneMatch(s -> s.id().equals(id))) {
+          rows.add(new ReleaseState(id, statuses.get(id), null, versions.get(id)));
+        }
+      }
+      return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int[][] update(InvocationOnMock inv) throws Exception {
+      String sql = inv.getArgument(0);
+      Collection<Object> items = inv.getArgument(1);
+      ParameterizedPreparedStatementSetter<Object> setter = inv.getArgument(3);
+      batchSizes.add(items.size());
+      if (batchSizes.size() == failingBatch) {
+        throw new QueryTimeoutException("Lock wait timeout exceeded");
+      }
+      Matcher target = TARGET.matcher(sql);
+      assertTrue(target.find(), sql);
+      ReleaseStatus to = ReleaseStatus.valueOf(target.group(1));
+
+      int[] counts = new int[items.size()];
+      int k = 0;
+      for (Object item : items) {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.setValues(ps, item);
+        Long id = null;
+        String from = null;
+        int fromIndex = 0;
+        for (Invocation call : mockingDetails(ps).getInvocations()) {
+          String method = call.getMethod().getName();
+          if (method.equals("setLong")) {
+            id = call.getArgument(1);
+          } else if (method.equals("setString") && (int) call.getArgument(0) > fromIndex) {
+            // the guard's status is the last string parameter
+            fromIndex = call.getArgument(0);
+            from = call.getArgument(1);
+          }
+        }
+        boolean matched = !racing.contains(id) && statuses.get(id).name().equals(from);
+        if (matched) {
+          statuses.put(id, to);
+          versions.merge(id, 1L, Long::sum);
+        }
+        counts[k++] = noInfo ? Statement.SUCCESS_NO_INFO : (matched ? 1 : 0);
+      }
+      return new int[][] {counts};
+    }
+
+    private static List<Object> flatten(Object[] args) {
+      List<Object> flat = new ArrayList<>();
+      for (Object arg : args) {
+        if (arg instanceof Object[] nested) {
+          flat.addAll(flatten(nested));
+        } else {
+          flat.add(arg);
+        }
+      }
+      return flat;
+    }
+  }
+}
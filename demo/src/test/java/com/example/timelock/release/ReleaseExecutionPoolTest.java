@@ -0,0 +1,84 @@
+package com.example.timelock.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ReleaseExecutionPoolTest {
+
+  @Test
+  void busyTargetDoesNotHoldTheGlobalSlots() throws Exception {
+    var pool = new ReleaseExecutionPool("virtual", 2, 1);
+    var release = new CountDownLatch(1);
+    var slowRunning = new AtomicInteger();
+    var slowPeak = new AtomicInteger();
+    try {
+      List<CompletableFuture<Void>> slow = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        slow.add(pool.submit("slow.example.com", () -> {
+          slowPeak.accumulateAndGet(slowRunning.incrementAndGet(), Math::max);
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          slowRunning.decrementAndGet();
+        }));
+      }
+
+      // One global slot is taken by the slow target, the other is still free for everyone else
+      pool.submit("fast.example.com", () -> {}).get(5, TimeUnit.SECONDS);
+      pool.submit("", () -> {}).get(5, TimeUnit.SECONDS);
+
+      release.countDown();
+      CompletableFuture.allOf(slow.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+      assertEquals(1, slowPeak.get());
+    } finally {
+      release.countDown();
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void globalCapHoldsAcrossTargets() throws Exception {
+    var pool = new ReleaseExecutionPool("virtual", 3, 8);
+    var running = new AtomicInteger();
+    var peak = new AtomicInteger();
+    try {
+      List<CompletableFuture<Void>> all = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        all.add(pool.submit("host-" + (i % 5), () -> {
+          peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+          try {
+            Thread.sleep(5);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          running.decrementAndGet();
+        }));
+      }
+      CompletableFuture.allOf(all.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+      assertTrue(peak.get() <= 3, "peak " + peak.get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void serialModeRunsInline() {
+    var pool = new ReleaseExecutionPool("serial", 1, 1);
+    var ran = new AtomicInteger();
+
+    var done = pool.submit("a", ran::incrementAndGet);
+
+    assertTrue(done.isDone());
+    assertEquals(1, ran.get());
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.timelock.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ReleaseFullTextTest {
+
+  @Test
+  void everyWordIsRequiredAndPrefixMatched() {
+    assertEquals("+checkout* +rollout*", ReleaseFullText.booleanQuery("checkout rollout"));
+    assertEquals("+feature_flag* +v2024*", ReleaseFullText.booleanQuery("  feature_flag\tv2024 "));
+  }
+
+  @Test
+  void operatorCharactersNeverReachTheQuery() {
+    assertEquals("+checkout* +rollout*", ReleaseFullText.booleanQuery("+checkout -rollout"));
+    assertEquals("+checkout* +rollout* +beta*", ReleaseFullText.booleanQuery("<checkout >rollout ~beta"));
+    assertEquals("+checkout* +rollout*", ReleaseFullText.booleanQuery("(checkout) rollout*"));
+    assertEquals("+exact* +phrase*", ReleaseFullText.booleanQuery("\"exact phrase\""));
+    assertEquals("+user* +example* +com*", ReleaseFullText.booleanQuery("user@example.com"));
+    assertNull(ReleaseFullText.booleanQuery("+-<>()~*\"@"));
+  }
+
+  @Test
+  void wordsShorterThanTheIndexTokenAreDropped() {
+    assertEquals("+api*", ReleaseFullText.booleanQuery("v2 of an api"));
+    assertNull(ReleaseFullText.booleanQuery("ab c"));
+  }
+
+  @Test
+  void nothingSearchableYieldsNull() {
+    assertNull(ReleaseFullText.booleanQuery(null));
+    assertNull(ReleaseFullText.booleanQuery(""));
+    assertNull(ReleaseFullText.booleanQuery("   \t\n"));
+  }
+
+  @Test
+  void nonLatinLettersAreKept() {
+    assertEquals("+größe* +релиз*", ReleaseFullText.booleanQuery("größe релиз"));
+  }
+}
@@ -0,0 +1,159 @@
+package com.example.timelock.release;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The claim protocol against a real MySQL: {@code FOR UPDATE SKIP LOCKED} hands concurrent
+ * claimers disjoint rows without waiting on each other, and leases only move between nodes
+ * once they have expired.
+ */
+@Testcontainers
+@SpringBootTest
+class ReleaseLeasesIT {
+
+  @Container
+  static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+      .withDatabaseName("appdb").withUsername("appuser").withPassword("apppass");
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", mysql::getJdbcUrl);
+    r.add("spring.datasource.username", mysql::getUsername);
+    r.add("spring.datasource.password", mysql::getPassword);
+    // no scheduler of its own: only the test claims
+    r.add("app.release.scheduler.mode", () -> "manual");
+    r.add("app.release.node-id", () -> "node-a");
+    r.add("app.release.lease-ms", () -> "60000");
+    r.add("jwt.issuer", () -> "example.com");
+    r.add("jwt.secret", () -> "8evdgMoilLs4kfweAyXSh3LDTi0fdk6ru+d9NRpFto0=");
+  }
+
+  @Autowired ReleaseLeases leases;
+  @Autowired ReleaseRepository repo;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void clear() {
+    jdbc.update("DELETE FROM releases WHERE id BETWEEN 9000 AND 9999");
+  }
+
+  @Test
+  void rowsLockedByAnotherClaimerAreSkippedNotWaitedFor() throws Exception {
+    for (long id = 9001; id <= 9004; id++) {
+      insertDue(id, 9005 - id, null, null); // 9001 is the oldest
+    }
+    var locked = new CountDownLatch(1);
+    var done = new CountDownLatch(1);
+    var other = CompletableFuture.supplyAsync(() -> new TransactionTemplate(transactionManager).execute(status -> {
+      List<Long> ids = repo.lockClaimable(Instant.now(), 2);
+      locked.countDown();
+      await(done);
+      return ids;
+    }));
+    try {
+      assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+      // Would block on the row locks without SKIP LOCKED
+      List<Long> claimed = CompletableFuture.supplyAsync(() -> leases.claimDue(10)).get(5, TimeUnit.SECONDS);
+
+      assertThat(claimed).containsExactly(9003L, 9004L);
+    } finally {
+      done.countDown();
+    }
+    assertThat(other.get(10, TimeUnit.SECONDS)).containsExactly(9001L, 9002L);
+    assertThat(owner(9003)).isEqualTo("node-a");
+    assertThat(owner(9001)).isNull();
+  }
+
+  @Test
+  void concurrentClaimersNeverGetTheSameRow() throws Exception {
+    for (long id = 9001; id <= 9040; id++) {
+      insertDue(id, 60, null, null);
+    }
+    ExecutorService claimers = Executors.newFixedThreadPool(4);
+    try {
+      List<CompletableFuture<List<Long>>> runs = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        runs.add(CompletableFuture.supplyAsync(() -> {
+          List<Long> mine = new ArrayList<>();
+          for (List<Long> batch = leases.claimDue(3); !batch.isEmpty(); batch = leases.claimDue(3)) {
+            mine.addAll(batch);
+          }
+          return mine;
+        }, claimers));
+      }
+      List<Long> all = new ArrayList<>();
+      for (var run : runs) {
+        all.addAll(run.get(30, TimeUnit.SECONDS));
+      }
+      Set<Long> distinct = new HashSet<>(all);
+      assertThat(all).hasSize(40);
+      assertThat(distinct).hasSize(40);
+    } finally {
+      claimers.shutdownNow();
+    }
+  }
+
+  @Test
+  void onlyExpiredLeasesOfOtherNodesAreReclaimed() {
+    insertDue(9001, 60, "node-b", -30);  // node-b crashed, lease ran out
+    insertDue(9002, 60, "node-b", 300);  // node-b is still working on it
+    insertDue(9003, 60, "node-a", 300);  // ours already
+
+    assertThat(leases.claimDue(10)).containsExactly(9001L);
+    assertThat(owner(9001)).isEqualTo("node-a");
+
+    assertThat(leases.claim(9002L)).isFalse();
+    assertThat(owner(9002)).isEqualTo("node-b");
+    // the timer may fire again for a release this node already holds
+    assertThat(leases.claim(9003L)).isTrue();
+
+    jdbc.update("UPDATE releases SET status = 'EXECUTED', lease_owner = NULL, lease_expires_at = NULL WHERE id = 9003");
+    assertThat(leases.claim(9003L)).isFalse();
+  }
+
+  // scheduled_at is secondsAgo in the past; a lease, if any, expires expiresIn seconds from now
+  private void insertDue(long id, long secondsAgo, String owner, Integer expiresIn) {
+    jdbc.update("INSERT INTO releases (id, title, status, scheduled_at, created_by, lease_owner, lease_expires_at) " +
+        "VALUES (?, 'lease', 'APPROVED', UTC_TIMESTAMP() - INTERVAL ? SECOND, 'it@example.com', ?, " +
+        "IF(? IS NULL, NULL, UTC_TIMESTAMP(3) + INTERVAL ? SECOND))",
+        id, secondsAgo, owner, expiresIn, expiresIn);
+  }
+
+  private String owner(long id) {
+    return jdbc.queryForObject("SELECT lease_owner FROM releases WHERE id = ?", String.class, id);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(30, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
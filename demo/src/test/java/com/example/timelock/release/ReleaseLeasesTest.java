@@ -0,0 +1,68 @@
+package com.example.timelock.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ReleaseLeasesTest {
+
+  @Test
+  void claimDueLeasesExactlyTheLockedRows() {
+    var repo = mock(ReleaseRepository.class);
+    var leases = new ReleaseLeases(repo, "node-a", 120_000);
+    when(repo.lockClaimable(any(), eq(10))).thenReturn(List.of(3L, 1L, 2L));
+
+    Instant before = Instant.now();
+    assertEquals(List.of(3L, 1L, 2L), leases.claimDue(10));
+
+    var now = ArgumentCaptor.forClass(Instant.class);
+    var until = ArgumentCaptor.forClass(Instant.class);
+    verify(repo).lockClaimable(now.capture(), eq(10));
+    verify(repo).lease(eq(List.of(3L, 1L, 2L)), eq("node-a"), until.capture());
+    assertFalse(now.getValue().isBefore(before));
+    assertEquals(Duration.ofMillis(120_000), Duration.between(now.getValue(), until.getValue()));
+  }
+
+  @Test
+  void nothingClaimableLeasesNothing() {
+    var repo = mock(ReleaseRepository.class);
+    var leases = new ReleaseLeases(repo, "node-a", 120_000);
+    when(repo.lockClaimable(any(), anyInt())).thenReturn(List.of());
+
+    assertTrue(leases.claimDue(50).isEmpty());
+    verify(repo, never()).lease(any(), any(), any());
+  }
+
+  @Test
+  void claimIsOwnedByThisNodeAndOnlyForApprovedReleases() {
+    var repo = mock(ReleaseRepository.class);
+    var leases = new ReleaseLeases(repo, "node-a", 60_000);
+    when(repo.leaseOne(eq(7L), any(), any(), any(), any())).thenReturn(1);
+    when(repo.leaseOne(eq(8L), any(), any(), any(), any())).thenReturn(0);
+
+    assertTrue(leases.claim(7L));
+    // held by another node, or no longer APPROVED: the guarded UPDATE matched nothing
+    assertFalse(leases.claim(8L));
+
+    var now = ArgumentCaptor.forClass(Instant.class);
+    var until = ArgumentCaptor.forClass(Instant.class);
+    verify(repo).leaseOne(eq(7L), eq(ReleaseStatus.APPROVED), eq("node-a"), now.capture(), until.capture());
+    assertEquals(Duration.ofMillis(60_000), Duration.between(now.getValue(), until.getValue()));
+  }
+
+  @Test
+  void blankNodeIdFallsBackToTheProcessName() {
+    var leases = new ReleaseLeases(mock(ReleaseRepository.class), " ", 1000);
+
+    assertTrue(leases.nodeId().contains("@"), leases.nodeId());
+  }
+}
@@ -1,6 +1,8 @@
 package com.example.timelock.release;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
@@ -8,8 +10,13 @@ import static org.mockito.Mockito.*;
 import java.time.Instant;
 import java.util.Optional;
 
-import com.example.timelock.execution.ReleaseActionClient;
+import com.example.timelock.audit.AuditService;
+import com.example.timelock.exception.ReleaseAlreadyExecutedException;
+import com.example.timelock.exception.ReleaseExecutionTooEarlyException;
+import com.example.timelock.execution.WebhookOutbox;
+import com.example.timelock.payload.PayloadStore;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 class ReleaseServiceTest {
@@ -17,8 +24,11 @@ class ReleaseServiceTest {
   @Test
   void mustApproveAndBeDueBeforeExecute() {
     var repo = mock(ReleaseRepository.class);
-    var action = mock(ReleaseActionClient.class);
-    var svc  = new ReleaseService(repo, action);
+    var outbox = mock(WebhookOutbox.class);
+    var statistics = mock(ReleaseStatistics.class);
+    var svc  = new ReleaseService(repo, mock(ReleaseArchiveRepository.class), outbox,
+                                  mock(AuditService.class), new ReleaseTimer("poll", 0),
+                                  statistics, mock(PayloadStore.class), mock(ReleaseInvalidations.class));
 
     var r = new Release();
     r.setTitle("X");
@@ -27,34 +37,163 @@ class ReleaseServiceTest {
     r.setScheduledAt(Instant.now().minusSeconds(60));
 
     when(repo.findById(1L)).thenReturn(Optional.of(r));
+    when(repo.markScheduled(eq(1L), eq(0L), any(), any())).thenReturn(1);
+    when(repo.markApproved(eq(1L), eq(1L), any(), eq("approver"), any())).thenReturn(1);
+    when(repo.markExecuted(eq(1L), any())).thenReturn(1);
 
     svc.schedule(1L, r.getScheduledAt());
-    assertEquals(ReleaseStatus.SCHEDULED, r.getStatus());
+    verify(statistics).transition(ReleaseStatus.DRAFT, ReleaseStatus.SCHEDULED);
 
     svc.approve(1L, "approver");
-    assertEquals(ReleaseStatus.APPROVED, r.getStatus());
-    assertNotNull(r.getApprovedAt());
+    verify(statistics).transition(ReleaseStatus.SCHEDULED, ReleaseStatus.APPROVED);
 
     svc.executeRelease(1L, "executor");
-    assertEquals(ReleaseStatus.EXECUTED, r.getStatus());
-    assertNotNull(r.getExecutedAt());
+    verify(statistics).transition(ReleaseStatus.APPROVED, ReleaseStatus.EXECUTED);
 
-    verify(action, times(1)).trigger(eq(1L), eq("X"), isNull());
+    verify(outbox, times(1)).enqueue(eq(1L), eq("X"), isNull(), any());
+  }
+
+  @Test
+  void changeBetweenReadAndUpdateIsReadAgain() {
+    var repo = mock(ReleaseRepository.class);
+    var statistics = mock(ReleaseStatistics.class);
+    var svc  = new ReleaseService(repo, mock(ReleaseArchiveRepository.class), mock(WebhookOutbox.class),
+                                  mock(AuditService.class), new ReleaseTimer("poll", 0),
+                                  statistics, mock(PayloadStore.class), mock(ReleaseInvalidations.class));
+
+    // read as a DRAFT, but scheduled by someone else before the UPDATE ran
+    var draft = new Release(1L, 0);
+    draft.setStatus(ReleaseStatus.DRAFT);
+    var scheduled = new Release(1L, 1);
+    scheduled.setStatus(ReleaseStatus.SCHEDULED);
+    scheduled.setScheduledAt(Instant.now().plusSeconds(60));
+    when(repo.findById(1L)).thenReturn(Optional.of(draft), Optional.of(scheduled));
+    when(repo.markApproved(eq(1L), eq(0L), any(), any(), any())).thenReturn(0);
+    when(repo.markApproved(eq(1L), eq(1L), any(), any(), any())).thenReturn(1);
+
+    var approved = svc.approve(1L, "approver");
+
+    verify(statistics).transition(ReleaseStatus.SCHEDULED, ReleaseStatus.APPROVED);
+    assertEquals(ReleaseStatus.APPROVED, approved.getStatus());
+    assertEquals(2L, approved.getVersion());
+    assertEquals("approver", approved.getApprovedBy());
+  }
+
+  @Test
+  void lostRaceMapsToExistingExceptions() {
+    var repo = mock(ReleaseRepository.class);
+    var statistics = mock(ReleaseStatistics.class);
+    var svc  = new ReleaseService(repo, mock(ReleaseArchiveRepository.class), mock(WebhookOutbox.class),
+                                  mock(AuditService.class), new ReleaseTimer("poll", 0),
+                                  statistics, mock(PayloadStore.class), mock(ReleaseInvalidations.class));
+
+    var approved = new Release(1L, 2);
+    approved.setStatus(ReleaseStatus.APPROVED);
+    var executed = new Release(1L, 3);
+    executed.setStatus(ReleaseStatus.EXECUTED);
+    when(repo.findById(1L)).thenReturn(Optional.of(approved), Optional.of(executed));
+    when(repo.markCancelled(eq(1L), eq(2L), any())).thenReturn(0);
+
+    assertThrows(ReleaseAlreadyExecutedException.class,
+        () -> svc.cancel(1L, "someone"));
+    verifyNoInteractions(statistics);
+  }
+
+  @Test
+  void lostRaceIsRetriedAgainstAFreshRead() {
+    var repo = mock(ReleaseRepository.class);
+    var statistics = mock(ReleaseStatistics.class);
+    var svc  = new ReleaseService(repo, mock(ReleaseArchiveRepository.class), mock(WebhookOutbox.class),
+                                  mock(AuditService.class), new ReleaseTimer("poll", 0),
+                                  statistics, mock(PayloadStore.class), mock(ReleaseInvalidations.class));
+
+    var first = new Release(1L, 4);
+    first.setStatus(ReleaseStatus.SCHEDULED);
+    var second = new Release(1L, 5);
+    second.setStatus(ReleaseStatus.SCHEDULED);
+    var third = new Release(1L, 6);
+    third.setStatus(ReleaseStatus.APPROVED);
+    when(repo.findById(1L)).thenReturn(Optional.of(first), Optional.of(second), Optional.of(third));
+    when(repo.markCancelled(eq(1L), anyLong(), any())).thenReturn(0, 0, 1);
+
+    var cancelled = svc.cancel(1L, "someone");
+
+    verify(repo, times(3)).findById(1L);
+    verify(repo).markCancelled(eq(1L), eq(4L), any());
+    verify(repo).markCancelled(eq(1L), eq(5L), any());
+    verify(repo).markCancelled(eq(1L), eq(6L), any());
+    assertSame(third, cancelled);
+    assertEquals(ReleaseStatus.CANCELLED, cancelled.getStatus());
+    assertEquals(7L, cancelled.getVersion());
+    verify(statistics).transition(ReleaseStatus.APPROVED, ReleaseStatus.CANCELLED);
+  }
+
+  @Test
+  void givesUpAfterThreeLostRaces() {
+    var repo = mock(ReleaseRepository.class);
+    var statistics = mock(ReleaseStatistics.class);
+    var audit = mock(AuditService.class);
+    var svc  = new ReleaseService(repo, mock(ReleaseArchiveRepository.class), mock(WebhookOutbox.class),
+                                  audit, new ReleaseTimer("poll", 0),
+                                  statistics, mock(PayloadStore.class), mock(ReleaseInvalidations.class));
+
+    var r = new Release(1L, 0);
+    r.setStatus(ReleaseStatus.DRAFT);
+    when(repo.findById(1L)).thenReturn(Optional.of(r));
+    when(repo.markScheduled(eq(1L), anyLong(), any(), any())).thenReturn(0);
+
+    var ex = assertThrows(OptimisticLockingFailureException.class,
+        () -> svc.schedule(1L, Instant.now().plusSeconds(60)));
+
+    assertEquals("Release 1 is being modified concurrently", ex.getMessage());
+    verify(repo, times(3)).markScheduled(eq(1L), eq(0L), any(), any());
+    assertEquals(ReleaseStatus.DRAFT, r.getStatus());
+    assertEquals(0L, r.getVersion());
+    verifyNoInteractions(statistics, audit);
+  }
+
+  @Test
+  void lostExecuteRaceIsReportedFromTheRowThatWon() {
+    var repo = mock(ReleaseRepository.class);
+    var outbox = mock(WebhookOutbox.class);
+    var statistics = mock(ReleaseStatistics.class);
+    var svc  = new ReleaseService(repo, mock(ReleaseArchiveRepository.class), outbox,
+                                  mock(AuditService.class), new ReleaseTimer("poll", 0),
+                                  statistics, mock(PayloadStore.class), mock(ReleaseInvalidations.class));
+
+    var executed = new Release(1L, 3);
+    executed.setStatus(ReleaseStatus.EXECUTED);
+    var due = new Release(1L, 3);
+    due.setStatus(ReleaseStatus.APPROVED);
+    due.setScheduledAt(Instant.now().minusSeconds(60));
+    when(repo.markExecuted(eq(1L), any())).thenReturn(0);
+    when(repo.findById(1L)).thenReturn(Optional.of(executed), Optional.of(due));
+
+    assertThrows(ReleaseAlreadyExecutedException.class, () -> svc.executeRelease(1L, "runner"));
+    // Due and approved, yet the UPDATE matched nothing: someone else changed it in between
+    assertThrows(OptimisticLockingFailureException.class, () -> svc.executeRelease(1L, "runner"));
+    verifyNoInteractions(outbox, statistics);
   }
 
   @Test
   void executingTooEarlyFails() {
     var repo = mock(ReleaseRepository.class);
-    var action = mock(ReleaseActionClient.class);
-    var svc  = new ReleaseService(repo, action);
+    var outbox = mock(WebhookOutbox.class);
+    var svc  = new ReleaseService(repo, mock(ReleaseArchiveRepository.class), outbox,
+                                  mock(AuditService.class), new ReleaseTimer("poll", 0),
+                                  mock(ReleaseStatistics.class), mock(PayloadStore.class),
+                                  mock(ReleaseInvalidations.class));
 
     var r = new Release();
     r.setTitle("X");
     r.setStatus(ReleaseStatus.APPROVED);
     r.setScheduledAt(Instant.now().plusSeconds(300));
     when(repo.findById(1L)).thenReturn(Optional.of(r));
+    when(repo.markExecuted(eq(1L), any())).thenReturn(0);
 
-    var ex = assertThrows(IllegalStateException.class, () -> svc.executeRelease(1L, "runner"));
-    assertTrue(ex.getMessage().contains("Cannot execute before"));
+    var ex = assertThrows(ReleaseExecutionTooEarlyException.class, () -> svc.executeRelease(1L, "runner"));
+    assertEquals("Cannot execute release 1 before scheduled time: " + r.getScheduledAt(), ex.getMessage());
+    assertEquals(r.getScheduledAt(), ex.getScheduledAt());
+    verifyNoInteractions(outbox);
   }
 }
@@ -0,0 +1,48 @@
+package com.example.timelock.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReleaseTimerTest {
+
+  @Test
+  void firesInScheduledOrderAndSkipsDisarmed() throws Exception {
+    var timer = new ReleaseTimer("timer", 60_000);
+    var now = Instant.now();
+
+    timer.arm(2L, now.plusMillis(40));
+    timer.arm(1L, now.plusMillis(20));
+    timer.arm(3L, now.plusMillis(30));
+    timer.disarm(3L);
+
+    assertEquals(1L, timer.take(1000));
+    assertEquals(2L, timer.take(1000));
+    assertNull(timer.take(50));
+  }
+
+  @Test
+  void rearmingMovesTheFireTime() throws Exception {
+    var timer = new ReleaseTimer("timer", 60_000);
+    var now = Instant.now();
+
+    timer.arm(1L, now.plusSeconds(30));
+    timer.armAll(List.of(new DueRelease(1L, now.minusMillis(1))));
+
+    assertEquals(1L, timer.take(1000));
+    assertEquals(0, timer.size());
+  }
+
+  @Test
+  void ignoresReleasesBeyondTheHorizon() throws Exception {
+    var timer = new ReleaseTimer("timer", 1_000);
+
+    timer.arm(1L, Instant.now().plusSeconds(60));
+
+    assertEquals(0, timer.size());
+    assertNull(timer.take(20));
+  }
+}